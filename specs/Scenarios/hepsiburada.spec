@@ -15,5 +15,8 @@ tags: login, search, smoke
 * Sepete gidilir
 * Sepette ürün olduğu doğrulanır (Ürün sepetten çıkarılır)
 
+## HB-TC02 – Login ve arama checkpoint'inden başlayıp kayıtlı arama terimlerini toplu olarak sepete ekle
+tags: login, search, batch
 
-
+* Giriş yapılmış ve arama sonuçları açık durumdan başlanır
+* "src/test/resources/batch/search-terms.csv" dosyasındaki satırlar toplu çalıştırılır
@@ -0,0 +1,111 @@
+package com.hepsiburada;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocatorHelper.getBy, elements.json derleme ve values.json okuma; sentetik dosyalarla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final String[] TYPES = {"css", "xpath", "id", "name", "classname"};
+
+    @Param({"12", "500", "5000"})
+    public int locators;
+
+    private File elementsFile;
+    private File valuesFile;
+    private LocatorHelper helper;
+    private String[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        elementsFile = File.createTempFile("elements", ".json");
+        valuesFile = File.createTempFile("values", ".json");
+        keys = new String[locators];
+
+        StringBuilder elements = new StringBuilder("[\n");
+        StringBuilder values = new StringBuilder("{\n");
+        for (int i = 0; i < locators; i++) {
+            String type = TYPES[i % TYPES.length];
+            keys[i] = "key_" + i;
+            if (i > 0) {
+                elements.append(",\n");
+                values.append(",\n");
+            }
+            elements.append("  {\"key\": \"").append(keys[i])
+                    .append("\", \"type\": \"").append(type)
+                    .append("\", \"value\": \"").append(valueFor(type, i)).append("\"}");
+            values.append("  \"Value_").append(i).append("\": \"deger ").append(i).append('"');
+        }
+        elements.append("\n]\n");
+        values.append("\n}\n");
+
+        Files.write(elementsFile.toPath(), elements.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(valuesFile.toPath(), values.toString().getBytes(StandardCharsets.UTF_8));
+
+        helper = new LocatorHelper(elementsFile.getPath());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        elementsFile.delete();
+        valuesFile.delete();
+    }
+
+    @Benchmark
+    public By getBy() {
+        String key = keys[next];
+        next = next + 1 == keys.length ? 0 : next + 1;
+        return helper.getBy(key);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public LocatorHelper loadElements() {
+        return new LocatorHelper(elementsFile.getPath());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Map<String, String> loadValues() {
+        return StepImplementation.loadValues(valuesFile.getPath());
+    }
+
+    private static String valueFor(String type, int i) {
+        switch (type) {
+            case "css":
+                return "div[class*='productCard-module_" + i + "'] > a";
+            case "xpath":
+                return "//button[normalize-space()='Buton " + i + "']";
+            default:
+                return "element" + i;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hepsiburada;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ürün kartlarının satırlara kümelenmesi (60 px tolerans), tarayıcı olmadan: toplu sıralama
+ * (groupRows) ve taramada kullanılan artımlı indeks (RowIndex).
+ * Kartlar 4 sütunlu, satır içinde ±20 px kaymalı ve karışık sırada üretilir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductGridBenchmark {
+
+    @Param({"60", "500", "5000"})
+    public int cards;
+
+    private List<ProductGrid.Card> grid;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        grid = new ArrayList<>(cards);
+        for (int i = 0; i < cards; i++) {
+            int row = i / 4;
+            int col = i % 4;
+            double top = row * 420.0 + random.nextInt(41) - 20;
+            double left = 40 + col * 300.0;
+            grid.add(new ProductGrid.Card(i, null, "https://www.hepsiburada.com/p-" + i, top, left));
+        }
+        Collections.shuffle(grid, random);
+    }
+
+    @Benchmark
+    public List<List<ProductGrid.Card>> groupRows() {
+        return ProductGrid.groupRows(grid);
+    }
+
+    @Benchmark
+    public ProductGrid.RowIndex rowIndex() {
+        ProductGrid.RowIndex index = new ProductGrid.RowIndex();
+        for (ProductGrid.Card c : grid) index.add(c);
+        return index;
+    }
+}
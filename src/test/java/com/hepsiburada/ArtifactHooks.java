@@ -0,0 +1,125 @@
+package com.hepsiburada;
+
+import com.thoughtworks.gauge.AfterStep;
+import com.thoughtworks.gauge.AfterSuite;
+import com.thoughtworks.gauge.BeforeStep;
+import com.thoughtworks.gauge.ExecutionContext;
+import com.thoughtworks.gauge.Gauge;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Adım sonunda artefakt toplama. Her adımda yalnızca bellekteki halka tampona (son
+ * artifact_ring_size adım) ekran görüntüsü eklenir; adım başarısız olursa hata anının ekran
+ * görüntüsü, DOM'u ve konsol logu ile birlikte tampon ArtifactPipeline'a verilir.
+ * Hata anının ekran görüntüsü adım başına bir kez alınır; rapordaki görüntü (DriverScreenshotWriter) de aynıdır.
+ */
+public class ArtifactHooks {
+
+    private static final int RING_SIZE = EnvConfig.getInt("artifact_ring_size", 0);
+    private static final String ARTIFACT_DIR = EnvConfig.get("gauge_reports_dir", "reports") + "/artifacts";
+
+    static class StepSnapshot {
+        final String step;
+        final String url;
+        final byte[] png;
+
+        StepSnapshot(String step, String url, byte[] png) {
+            this.step = step;
+            this.url = url;
+            this.png = png;
+        }
+    }
+
+    @BeforeStep
+    public void clearFailureShot() {
+        DriverSession session = DriverPool.peek();
+        if (session != null) session.failureShot = null;
+    }
+
+    /** Adımın hata görüntüsü; Gauge ve bu hook'tan hangisi önce isterse o alır, diğeri aynı byte'ları kullanır. */
+    static byte[] failureScreenshot(DriverSession session) {
+        if (session.failureShot == null) {
+            session.failureShot = ((TakesScreenshot) session.driver).getScreenshotAs(OutputType.BYTES);
+        }
+        return session.failureShot;
+    }
+
+    @AfterStep
+    public void captureStep(ExecutionContext context) {
+        DriverSession session = DriverPool.peek();
+        if (session == null) return;
+
+        String step = context.getCurrentStep().getText();
+        boolean failing = context.getCurrentStep().getIsFailing();
+
+        if (!failing && RING_SIZE <= 0) return;
+
+        try {
+            WebDriver driver = session.driver;
+            byte[] png = failing ? failureScreenshot(session) : ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+
+            if (!failing) {
+                Deque<StepSnapshot> ring = session.recentSteps;
+                if (ring.size() >= RING_SIZE) ring.pollFirst();
+                ring.addLast(new StepSnapshot(step, driver.getCurrentUrl(), png));
+                return;
+            }
+
+            Path dir = Paths.get(ARTIFACT_DIR, fileName(context.getCurrentScenario().getName())
+                    + "-" + System.currentTimeMillis());
+
+            Path shot = ArtifactPipeline.screenshot(dir.resolve("failure"), png);
+            ArtifactPipeline.text(dir.resolve("page.html"),
+                    driver.getPageSource().getBytes(StandardCharsets.UTF_8));
+            ArtifactPipeline.text(dir.resolve("console.log"), consoleLog(driver));
+
+            int i = 1;
+            StringBuilder index = new StringBuilder();
+            for (StepSnapshot s : session.recentSteps) {
+                String name = String.format("before-%02d", i++);
+                ArtifactPipeline.screenshot(dir.resolve(name), s.png);
+                index.append(name).append('\t').append(s.url).append('\t').append(s.step).append('\n');
+            }
+            session.recentSteps.clear();
+            if (index.length() > 0) {
+                ArtifactPipeline.text(dir.resolve("steps.tsv"), index.toString().getBytes(StandardCharsets.UTF_8));
+            }
+
+            Gauge.writeMessage("Hata artefaktları: " + shot.getParent().toAbsolutePath());
+        } catch (Exception ignored) {
+            // Tarayıcı kapanmış olabilir; artefakt alınamaması hatayı gizlememeli
+        }
+    }
+
+    @AfterSuite
+    public void drainArtifacts() {
+        ArtifactPipeline.drain();
+    }
+
+    private static byte[] consoleLog(WebDriver driver) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (LogEntry e : driver.manage().logs().get(LogType.BROWSER)) {
+                sb.append(e.getTimestamp()).append(' ').append(e.getLevel()).append(' ')
+                        .append(e.getMessage()).append('\n');
+            }
+        } catch (Exception e) {
+            sb.append("Konsol logu alınamadı: ").append(e.getMessage()).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String fileName(String s) {
+        return s.replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+    }
+}
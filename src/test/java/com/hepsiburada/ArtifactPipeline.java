@@ -0,0 +1,117 @@
+package com.hepsiburada;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Hata artefaktlarının (ekran görüntüsü, DOM, konsol logu) arka planda sıkıştırılıp yazılması.
+ * Adım thread'i yalnızca ham byte'ları teslim eder. Kuyruk artifact_queue_size ile sınırlıdır;
+ * dolduğunda iş çağıran thread'de yapılır (backpressure), böylece bellek sınırsız büyümez.
+ * Ekran görüntüleri artifact_screenshot_format = jpg ise JPEG'e çevrilir (JDK'da WebP yazıcı yok),
+ * png ise olduğu gibi yazılır; metin artefaktları gzip ile sıkıştırılır.
+ */
+public final class ArtifactPipeline {
+
+    private static final int THREADS = Math.max(1, EnvConfig.getInt("artifact_threads", 2));
+    private static final int QUEUE_SIZE = Math.max(1, EnvConfig.getInt("artifact_queue_size", 32));
+    private static final String SCREENSHOT_FORMAT = EnvConfig.get("artifact_screenshot_format", "jpg").toLowerCase(Locale.ROOT);
+    private static final float JPEG_QUALITY = EnvConfig.getInt("artifact_jpeg_quality", 70) / 100f;
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE),
+            r -> {
+                Thread t = new Thread(r, "artifact-writer");
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private ArtifactPipeline() {
+    }
+
+    /** PNG ekran görüntüsü; dönen yol (uzantı dahil) rapora yazılabilir. */
+    public static Path screenshot(Path fileWithoutExtension, byte[] png) {
+        boolean jpg = "jpg".equals(SCREENSHOT_FORMAT);
+        Path file = fileWithoutExtension.resolveSibling(fileWithoutExtension.getFileName() + (jpg ? ".jpg" : ".png"));
+        submit(file, () -> jpg ? toJpeg(png) : png);
+        return file;
+    }
+
+    /** Metin artefaktı (DOM, log); .gz uzantısıyla sıkıştırılarak yazılır. */
+    public static Path text(Path file, byte[] data) {
+        Path gz = file.resolveSibling(file.getFileName() + ".gz");
+        submit(gz, () -> gzip(data));
+        return gz;
+    }
+
+    /** Kuyruktaki tüm işlerin bitmesini bekler; suite sonunda çağrılır. */
+    public static void drain() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Encoder {
+        byte[] encode() throws IOException;
+    }
+
+    private static void submit(Path file, Encoder encoder) {
+        executor.execute(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, encoder.encode());
+            } catch (IOException ignored) {
+                // Artefakt yazılamaması testin sonucunu değiştirmez
+            }
+        });
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+            gz.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] toJpeg(byte[] png) throws IOException {
+        BufferedImage src = ImageIO.read(new ByteArrayInputStream(png));
+        if (src == null) return png;
+
+        // JPEG alfa kanalı taşımaz
+        BufferedImage rgb = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.createGraphics().drawImage(src, 0, 0, null);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(png.length / 4);
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+}
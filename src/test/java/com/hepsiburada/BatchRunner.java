@@ -0,0 +1,340 @@
+package com.hepsiburada;
+
+import com.thoughtworks.gauge.Gauge;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV tablosundaki her satır için arama → ürün seçimi → sepete ekleme akışını, zaten açık ve login
+ * olmuş tarayıcı üzerinden art arda çalıştırır. Başlık satırı values.json key'leridir (ör.
+ * SearchText,TargetRow,TargetCol); satırın değerleri o satır boyunca values.json'ın önüne geçer.
+ * batch_workers > 1 ise ek worker'lar havuzdan kendi driver'larını alır ve batch_checkpoint'ten başlar.
+ * Sepet hesaba bağlı olduğu için her ek worker batch_accounts dosyasından (satır başına "email,şifre",
+ * ShardRunner ile aynı format) LoginEmail'den farklı kendi hesabıyla login olur; yeterli hesap yoksa koşum başlamaz.
+ * Hazırlanamayan worker'lar rapora yazılır ve adımı düşürür.
+ * Satır sonuçları bittikçe rapora ve <gauge_reports_dir>/batch/ altındaki CSV'ye yazılır; hatalı
+ * satırdan sonra ana sayfaya dönülüp devam edilir, adım sonunda hatalı satır varsa adım düşer.
+ */
+public final class BatchRunner {
+
+    private static final String DELIMITER = EnvConfig.get("csv_delimiter", ",");
+    private static final int WORKERS = Math.max(1, EnvConfig.getInt("batch_workers", 1));
+    private static final String CHECKPOINT = EnvConfig.get("batch_checkpoint", "giris-arama");
+    private static final boolean CART_CLEANUP = EnvConfig.getBoolean("batch_cart_cleanup", true);
+    private static final String BATCH_DIR = EnvConfig.get("gauge_reports_dir", "reports") + "/batch";
+    private static final String ACCOUNTS = EnvConfig.get("batch_accounts",
+            EnvConfig.get("shard_accounts", "env/shard-accounts.csv"));
+
+    private BatchRunner() {
+    }
+
+    static final class Row {
+        final int index;
+        final Map<String, String> values;
+
+        Row(int index, Map<String, String> values) {
+            this.index = index;
+            this.values = values;
+        }
+    }
+
+    static final class Result {
+        final Row row;
+        final long millis;
+        final String error;
+
+        Result(Row row, long millis, String error) {
+            this.row = row;
+            this.millis = millis;
+            this.error = error;
+        }
+    }
+
+    public static void run(String csvPath, StepImplementation steps, String loginEmail) {
+        List<String> header = new ArrayList<>();
+        List<Row> rows = read(csvPath, header);
+        if (rows.isEmpty()) return;
+
+        int workers = Math.min(WORKERS, rows.size());
+        if (workers > DriverPool.size()) {
+            throw new RuntimeException("batch_workers (" + workers + ") driver_pool_size'dan ("
+                    + DriverPool.size() + ") büyük olamaz");
+        }
+        List<Map<String, String>> accounts = workerAccounts(workers - 1, loginEmail);
+
+        ConcurrentLinkedQueue<Row> pending = new ConcurrentLinkedQueue<>(rows);
+        BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+        ConcurrentLinkedQueue<String> workerErrors = new ConcurrentLinkedQueue<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 1; i < workers; i++) {
+            Map<String, String> account = accounts.get(i - 1);
+            String name = "batch-worker-" + i;
+            Thread t = new Thread(() -> {
+                try {
+                    StepImplementation.setRowValues(account);
+                    steps.startFromCheckpoint(CHECKPOINT);
+                    work(steps, account, pending, results);
+                } catch (RuntimeException | AssertionError e) {
+                    // Satırları diğer worker'lar işler; hata ana thread'de raporlanır
+                    workerErrors.add(name + " (" + account.get("LoginEmail") + ") hazırlanamadı: "
+                            + e.getClass().getSimpleName() + ": " + e.getMessage());
+                } finally {
+                    StepImplementation.setRowValues(null);
+                    DriverPool.release();
+                }
+            }, name);
+            t.setDaemon(true);
+            t.start();
+            threads.add(t);
+        }
+
+        Path out = Paths.get(BATCH_DIR, fileName(Paths.get(csvPath).getFileName().toString())
+                + "-" + System.currentTimeMillis() + ".csv");
+        int reported = 0;
+        int failed = 0;
+        List<String> failedWorkers = new ArrayList<>();
+        try {
+            Files.createDirectories(out.getParent());
+            try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                w.write("row" + DELIMITER + String.join(DELIMITER, header)
+                        + DELIMITER + "status" + DELIMITER + "millis" + DELIMITER + "error");
+                w.newLine();
+
+                // Çağıran thread de kendi (zaten login olmuş) driver'ıyla satır işler;
+                // her satırdan sonra o ana kadar biten tüm satırların sonucu yazılır
+                boolean working = true;
+                while (reported < rows.size()) {
+                    Row row = working ? pending.poll() : null;
+                    if (row != null) {
+                        Result r = runRow(steps, Map.of(), row);
+                        results.add(r);
+                        if (r.error != null && !recover(steps)) working = false;
+                    }
+
+                    String workerError;
+                    while ((workerError = workerErrors.poll()) != null) {
+                        failedWorkers.add(workerError);
+                        Gauge.writeMessage("Toplu koşum worker'ı " + workerError);
+                    }
+
+                    Result r = row != null ? results.poll() : results.poll(1, TimeUnit.SECONDS);
+                    while (r != null) {
+                        reported++;
+                        if (r.error != null) failed++;
+                        write(w, header, r);
+                        Gauge.writeMessage(message(r, rows.size()));
+                        r = results.poll();
+                    }
+
+                    // Bu thread'e iş kalmadı, worker'lar bitti ve yazılmamış sonuç yok
+                    if (row == null && threads.stream().noneMatch(Thread::isAlive) && results.isEmpty()) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Toplu sonuç dosyası yazılamadı: " + out, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        // Döngü bittikten sonra düşen worker hataları da sayılır
+        String workerError;
+        while ((workerError = workerErrors.poll()) != null) {
+            failedWorkers.add(workerError);
+            Gauge.writeMessage("Toplu koşum worker'ı " + workerError);
+        }
+
+        Gauge.writeMessage("Toplu koşum sonuçları: " + out.toAbsolutePath());
+        int skipped = rows.size() - reported;
+        if (failed > 0 || skipped > 0 || !failedWorkers.isEmpty()) {
+            throw new AssertionError("Toplu koşumda " + failed + " satır hatalı, " + skipped
+                    + " satır çalıştırılamadı (" + rows.size() + " satır), " + failedWorkers.size()
+                    + "/" + (workers - 1) + " ek worker hazırlanamadı");
+        }
+    }
+
+    /**
+     * Ek worker'ların hesapları (LoginEmail/LoginSifre değerleri). Ana thread'in hesabı (loginEmail) ve
+     * tekrar eden hesaplar atlanır; her worker'ın sepeti ayrı olmalıdır.
+     */
+    private static List<Map<String, String>> workerAccounts(int needed, String loginEmail) {
+        List<Map<String, String>> out = new ArrayList<>();
+        if (needed <= 0) return out;
+
+        List<String[]> accounts;
+        try {
+            accounts = ShardRunner.readAccounts(ACCOUNTS);
+        } catch (IOException e) {
+            throw new RuntimeException("Toplu koşum hesap dosyası okunamadı: " + ACCOUNTS, e);
+        }
+
+        Set<String> used = new HashSet<>();
+        used.add(loginEmail.toLowerCase(Locale.ROOT));
+        for (String[] a : accounts) {
+            if (out.size() == needed) break;
+            if (!used.add(a[0].toLowerCase(Locale.ROOT))) continue;
+            out.add(Map.of("LoginEmail", a[0], "LoginSifre", a[1]));
+        }
+
+        if (out.size() < needed) {
+            throw new RuntimeException("batch_workers = " + (needed + 1) + " için " + needed
+                    + " ek hesap gerekli, " + ACCOUNTS + " içinde " + out.size() + " uygun hesap var"
+                    + " (worker'lar aynı hesabın sepetini paylaşamaz)");
+        }
+        return out;
+    }
+
+    private static void work(StepImplementation steps, Map<String, String> account,
+                             ConcurrentLinkedQueue<Row> pending, BlockingQueue<Result> results) {
+        Row row;
+        while ((row = pending.poll()) != null) {
+            Result r = runRow(steps, account, row);
+            results.add(r);
+            if (r.error != null && !recover(steps)) return;
+        }
+    }
+
+    // Satır başına yalnızca arama → seçim → sepet (ve istenirse sepetten çıkarma) adımları çalışır.
+    // Worker'ın hesap değerleri satır değerleriyle birlikte thread'e verilir.
+    private static Result runRow(StepImplementation steps, Map<String, String> account, Row row) {
+        long t0 = System.nanoTime();
+        Map<String, String> values = new HashMap<>(account);
+        values.putAll(row.values);
+        StepImplementation.setRowValues(values);
+        try {
+            if (!steps.isElementPresent("txt_Search")) steps.hbAnaSayfaAcilir();
+            steps.hbUrunAra();
+            steps.clickProductRowColFromValues("TargetRow", "TargetCol");
+
+            steps.waitUntilVisible("btn_AddToCart");
+            steps.clickLikeHuman("btn_AddToCart");
+            steps.waitSecondsFromValues("WaitAfterAddToCart");
+
+            if (CART_CLEANUP) {
+                steps.waitUntilVisible("btn_SepeteGit");
+                steps.clickLikeHuman("btn_SepeteGit");
+                steps.waitUntilVisible("btn_RemoveSingleItem");
+                steps.clickLikeHuman("btn_RemoveSingleItem");
+            }
+            return new Result(row, millisSince(t0), null);
+        } catch (Exception | AssertionError e) {
+            return new Result(row, millisSince(t0), e.getClass().getSimpleName() + ": " + e.getMessage());
+        } finally {
+            StepImplementation.setRowValues(account.isEmpty() ? null : account);
+        }
+    }
+
+    // Hatalı satırdan sonra ana sayfaya dönülür; tarayıcı yanıt vermiyorsa worker durur
+    private static boolean recover(StepImplementation steps) {
+        try {
+            steps.hbAnaSayfaAcilir();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    static List<Row> read(String csvPath, List<String> header) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(Paths.get(csvPath), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Toplu koşum dosyası okunamadı: " + csvPath, e);
+        }
+
+        List<Row> rows = new ArrayList<>();
+        for (String line : lines) {
+            if (line.trim().isEmpty() || line.startsWith("#")) continue;
+            List<String> cells = split(line);
+            if (header.isEmpty()) {
+                header.addAll(cells);
+                continue;
+            }
+            if (cells.size() != header.size()) {
+                throw new RuntimeException("Toplu koşum dosyasında sütun sayısı hatalı (satır "
+                        + (rows.size() + 1) + "): " + line);
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) values.put(header.get(i), cells.get(i));
+            rows.add(new Row(rows.size() + 1, values));
+        }
+        return rows;
+    }
+
+    // csv_delimiter ile ayrılır; çift tırnak içindeki ayraçlar ve "" kaçışı desteklenir
+    private static List<String> split(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (!quoted && line.startsWith(DELIMITER, i)) {
+                out.add(cell.toString().trim());
+                cell.setLength(0);
+                i += DELIMITER.length() - 1;
+            } else {
+                cell.append(c);
+            }
+        }
+        out.add(cell.toString().trim());
+        return out;
+    }
+
+    private static void write(BufferedWriter w, List<String> header, Result r) throws IOException {
+        StringBuilder sb = new StringBuilder().append(r.row.index);
+        for (String key : header) sb.append(DELIMITER).append(csv(r.row.values.get(key)));
+        sb.append(DELIMITER).append(r.error == null ? "OK" : "HATA")
+                .append(DELIMITER).append(r.millis)
+                .append(DELIMITER).append(csv(r.error == null ? "" : r.error));
+        w.write(sb.toString());
+        w.newLine();
+        w.flush();
+    }
+
+    private static String message(Result r, int total) {
+        return String.format("Satır %d/%d %s → %s (%d ms)%s", r.row.index, total, r.row.values,
+                r.error == null ? "OK" : "HATA", r.millis, r.error == null ? "" : ": " + r.error);
+    }
+
+    private static String csv(String v) {
+        if (v == null) return "";
+        String s = v.replace("\r", " ").replace("\n", " ");
+        if (s.contains(DELIMITER) || s.contains("\"")) return "\"" + s.replace("\"", "\"\"") + "\"";
+        return s;
+    }
+
+    private static long millisSince(long t0) {
+        return (System.nanoTime() - t0) / 1_000_000;
+    }
+
+    private static String fileName(String s) {
+        return s.replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+    }
+}
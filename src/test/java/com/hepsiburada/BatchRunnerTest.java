@@ -0,0 +1,73 @@
+package com.hepsiburada;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsHeaderAndRowsSkippingCommentsAndBlankLines() throws IOException {
+        Path csv = write("# toplu koşum\n"
+                + "Urun,Adet\n"
+                + "\n"
+                + "telefon,1\n"
+                + "# ara not\n"
+                + "  laptop , 2 \n");
+
+        List<String> header = new ArrayList<>();
+        List<BatchRunner.Row> rows = BatchRunner.read(csv.toString(), header);
+
+        assertEquals(List.of("Urun", "Adet"), header);
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).index);
+        assertEquals(Map.of("Urun", "telefon", "Adet", "1"), rows.get(0).values);
+        assertEquals(2, rows.get(1).index);
+        assertEquals(Map.of("Urun", "laptop", "Adet", "2"), rows.get(1).values);
+    }
+
+    @Test
+    void quotedCellsKeepDelimitersAndEscapedQuotes() throws IOException {
+        Path csv = write("Urun,Not\n\"kulaklık, kablosuz\",\"\"\"en iyi\"\" seçim\"\n");
+
+        List<BatchRunner.Row> rows = BatchRunner.read(csv.toString(), new ArrayList<>());
+
+        assertEquals("kulaklık, kablosuz", rows.get(0).values.get("Urun"));
+        assertEquals("\"en iyi\" seçim", rows.get(0).values.get("Not"));
+    }
+
+    @Test
+    void columnCountMismatchFails() throws IOException {
+        Path csv = write("Urun,Adet\ntelefon,1\nlaptop\n");
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> BatchRunner.read(csv.toString(), new ArrayList<>()));
+        assertTrue(e.getMessage().contains("satır 2"), e.getMessage());
+    }
+
+    @Test
+    void missingFileFails() {
+        assertThrows(RuntimeException.class,
+                () -> BatchRunner.read(dir.resolve("yok.csv").toString(), new ArrayList<>()));
+    }
+
+    private Path write(String content) throws IOException {
+        Path csv = dir.resolve("batch.csv");
+        Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+        return csv;
+    }
+}
@@ -0,0 +1,265 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.gauge.Gauge;
+import com.thoughtworks.gauge.Step;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Senaryoların ortak başlangıcını (ana sayfa, çerez, login, arama...) koşu başına bir kez çalıştırıp
+ * tarayıcı durumunu (URL, cookie, localStorage, sessionStorage, scroll) saklar. Aynı checkpoint'i
+ * isteyen sonraki senaryolar kendi driver'larında bu durumun kopyasıyla başlar ve yalnızca
+ * kendilerine özgü adımları çalıştırır.
+ * Checkpoint'ler checkpoints.json'da adım metinleriyle tanımlanır; adımlar StepImplementation'daki
+ * @Step metinleriyle eşlenir. Paralel koşumda checkpoint'i ilk isteyen thread oluşturur, diğerleri en fazla
+ * checkpoint_wait_seconds bekler; süre dolarsa adımları kendileri çalıştırır.
+ * Geri yükleme sonrası ready elementi kullanılabilir olmazsa (oturum düşmüş vb.) adımlar canlı çalıştırılır.
+ */
+public final class Checkpoints {
+
+    private static final String DEFINITIONS_PATH = EnvConfig.get("checkpoints_path",
+            "src/test/resources/checkpoints.json");
+    private static final long TTL_MILLIS = EnvConfig.getInt("checkpoint_ttl_minutes", 30) * 60_000L;
+    private static final long WAIT_SECONDS = EnvConfig.getInt("checkpoint_wait_seconds", 180);
+
+    private static final String READ_STATE_SCRIPT =
+            "const dump = s => { const o = {}; for (let i = 0; i < s.length; i++) { const k = s.key(i); o[k] = s.getItem(k); } return o; };" +
+            "return {url: location.href, local: dump(window.localStorage), session: dump(window.sessionStorage)," +
+            "  scrollX: window.scrollX, scrollY: window.scrollY};";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "const local = arguments[0], session = arguments[1];" +
+            "for (const k in local) window.localStorage.setItem(k, local[k]);" +
+            "for (const k in session) window.sessionStorage.setItem(k, session[k]);";
+
+    private static final Map<String, CompletableFuture<Snapshot>> snapshots = new ConcurrentHashMap<>();
+    private static volatile Map<String, Definition> definitions;
+
+    private Checkpoints() {
+    }
+
+    public static class Definition {
+        /** Sırayla çalışacak adım metinleri; parametreler tırnak içinde (ör. Element "txt_Search" ...) */
+        public List<String> steps = new ArrayList<>();
+        /** Geri yüklemenin geçerli sayılması için kullanılabilir olması gereken element key'i */
+        public String ready;
+    }
+
+    static class Snapshot {
+        final long createdAt = System.currentTimeMillis();
+        String url;
+        List<LoginSessionCache.CookieDef> cookies;
+        Map<String, String> localStorage;
+        Map<String, String> sessionStorage;
+        long scrollX;
+        long scrollY;
+        boolean loginVerified;
+        boolean loginHoverVerified;
+    }
+
+    /**
+     * Checkpoint hazırsa geri yükler, değilse tanımdaki adımları çalıştırıp durumu saklar.
+     * Snapshot oturum cookie'lerini içerdiği için her hesap kendi kopyasını kullanır.
+     *
+     * @param account checkpoint'i oluşturacak/kullanacak hesap (LoginEmail)
+     * @param steps   adımların çağrılacağı StepImplementation örneği
+     */
+    public static void enter(String name, String account, DriverSession session, LocatorHelper locators, Object steps) {
+        Definition def = definition(name);
+
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        String key = name + "|" + account;
+        CompletableFuture<Snapshot> existing = snapshots.compute(key, (k, cur) -> {
+            boolean stale = cur != null && cur.isDone() && !cur.isCompletedExceptionally()
+                    && System.currentTimeMillis() - cur.join().createdAt > TTL_MILLIS;
+            return cur == null || stale || cur.isCompletedExceptionally() ? mine : cur;
+        });
+
+        if (existing == mine) {
+            build(name, def, session, steps, mine);
+            return;
+        }
+
+        Snapshot snapshot;
+        try {
+            snapshot = existing.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // Checkpoint'i oluşturan senaryo başarısız oldu; bu senaryo adımları kendisi çalıştırır
+            runSteps(def, steps);
+            return;
+        } catch (java.util.concurrent.TimeoutException e) {
+            // Oluşturan senaryo takıldıysa bu senaryo onu beklemeden adımları kendisi çalıştırır
+            Gauge.writeMessage("Checkpoint '" + name + "' " + WAIT_SECONDS + " sn içinde hazır olmadı, adımlar çalıştırılıyor");
+            runSteps(def, steps);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        long t0 = System.currentTimeMillis();
+        if (restore(session, locators, def, snapshot)) {
+            Gauge.writeMessage("Checkpoint '" + name + "' geri yüklendi ("
+                    + (System.currentTimeMillis() - t0) + " ms)");
+            return;
+        }
+
+        Gauge.writeMessage("Checkpoint '" + name + "' geri yüklenemedi, adımlar çalıştırılıyor");
+        session.reset();
+
+        // Geçersiz snapshot TTL dolana kadar kalmasın; bu senaryo yenisini oluşturur, sonrakiler onu bekler
+        CompletableFuture<Snapshot> fresh = new CompletableFuture<>();
+        if (snapshots.replace(key, existing, fresh)) {
+            build(name, def, session, steps, fresh);
+        } else {
+            runSteps(def, steps);
+        }
+    }
+
+    private static void build(String name, Definition def, DriverSession session, Object steps,
+                              CompletableFuture<Snapshot> target) {
+        try {
+            long t0 = System.currentTimeMillis();
+            runSteps(def, steps);
+            target.complete(capture(session));
+            Gauge.writeMessage("Checkpoint '" + name + "' oluşturuldu ("
+                    + (System.currentTimeMillis() - t0) + " ms)");
+        } catch (RuntimeException | Error e) {
+            target.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Snapshot capture(DriverSession session) {
+        WebDriver driver = session.driver;
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STATE_SCRIPT);
+
+        Snapshot s = new Snapshot();
+        s.url = (String) state.get("url");
+        s.localStorage = strings((Map<String, Object>) state.get("local"));
+        s.sessionStorage = strings((Map<String, Object>) state.get("session"));
+        s.scrollX = ((Number) state.get("scrollX")).longValue();
+        s.scrollY = ((Number) state.get("scrollY")).longValue();
+        s.cookies = LoginSessionCache.readCookies(driver);
+        s.loginVerified = session.loginVerifiedOnce;
+        s.loginHoverVerified = session.loginHoverVerifiedOnce;
+        return s;
+    }
+
+    // Aynı URL önce cookie/storage yazılabilsin diye açılır, durum yazıldıktan sonra yeniden yüklenir
+    private static boolean restore(DriverSession session, LocatorHelper locators, Definition def, Snapshot s) {
+        WebDriver driver = session.driver;
+        driver.get(s.url);
+        LoginSessionCache.addCookies(driver, s.cookies);
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, s.localStorage, s.sessionStorage);
+        driver.navigate().refresh();
+
+        if (def.ready != null) {
+            try {
+                Readiness.untilInteractable(driver, locators, def.ready, Duration.ofSeconds(15));
+            } catch (TimeoutException e) {
+                return false;
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript("window.scrollTo(arguments[0], arguments[1]);", s.scrollX, s.scrollY);
+
+        session.loginVerifiedOnce = s.loginVerified;
+        session.loginHoverVerifiedOnce = s.loginHoverVerified;
+        return true;
+    }
+
+    private static void runSteps(Definition def, Object steps) {
+        for (String text : def.steps) {
+            invoke(steps, text);
+        }
+    }
+
+    // Adım metni @Step şablonlarıyla eşlenir; <param> yerleri tırnak içindeki değerlerle doldurulur
+    private static void invoke(Object steps, String text) {
+        for (Method m : steps.getClass().getMethods()) {
+            Step step = m.getAnnotation(Step.class);
+            if (step == null) continue;
+            for (String template : step.value()) {
+                Matcher matcher = templatePattern(template).matcher(text.trim());
+                if (!matcher.matches() || matcher.groupCount() != m.getParameterCount()) continue;
+
+                Object[] args = new Object[matcher.groupCount()];
+                for (int i = 0; i < args.length; i++) args[i] = matcher.group(i + 1);
+                try {
+                    m.invoke(steps, args);
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    throw new RuntimeException("Checkpoint adımı başarısız: " + text, cause);
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("Checkpoint adımı çağrılamadı: " + text, e);
+                }
+                return;
+            }
+        }
+        throw new RuntimeException("Checkpoint adımı StepImplementation'da bulunamadı: " + text);
+    }
+
+    private static Pattern templatePattern(String template) {
+        StringBuilder regex = new StringBuilder();
+        Matcher m = Pattern.compile("<[^>]+>").matcher(template);
+        int last = 0;
+        while (m.find()) {
+            regex.append(Pattern.quote(template.substring(last, m.start()))).append("\"([^\"]*)\"");
+            last = m.end();
+        }
+        regex.append(Pattern.quote(template.substring(last)));
+        return Pattern.compile(regex.toString());
+    }
+
+    private static Definition definition(String name) {
+        if (definitions == null) {
+            synchronized (Checkpoints.class) {
+                if (definitions == null) definitions = load();
+            }
+        }
+        Definition def = definitions.get(name);
+        if (def == null) {
+            throw new RuntimeException("checkpoints.json içinde checkpoint bulunamadı: " + name);
+        }
+        return def;
+    }
+
+    private static Map<String, Definition> load() {
+        try {
+            ObjectMapper om = new ObjectMapper();
+            return Map.copyOf(om.readValue(new File(DEFINITIONS_PATH),
+                    om.getTypeFactory().constructMapType(HashMap.class, String.class, Definition.class)));
+        } catch (Exception e) {
+            throw new RuntimeException("checkpoints.json okunamadı: " + DEFINITIONS_PATH, e);
+        }
+    }
+
+    private static Map<String, String> strings(Map<String, Object> in) {
+        Map<String, String> out = new HashMap<>();
+        if (in == null) return out;
+        for (Map.Entry<String, Object> e : in.entrySet()) {
+            if (e.getValue() != null) out.put(e.getKey(), e.getValue().toString());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * EventFiringDecorator ile driver'a bağlanır; her WebDriver/WebElement çağrısını
+ * "Arayüz.metot" adıyla sayar ve süresini StepMetrics'e bildirir. İç içe çağrılarda (ör. LocatorChain'in
+ * findElements içinden çalıştırdığı script) adımın komut süresine yalnızca en dıştaki çağrı yazılır.
+ */
+public class CommandListener implements WebDriverListener {
+
+    private static final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        starts.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private void finish(Method method) {
+        Deque<Long> stack = starts.get();
+        if (stack.isEmpty()) return;
+        long nanos = System.nanoTime() - stack.pop();
+        StepMetrics.commandExecuted(method.getDeclaringClass().getSimpleName() + "." + method.getName(), nanos,
+                stack.isEmpty());
+    }
+}
@@ -0,0 +1,279 @@
+package com.hepsiburada;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * elements.json'daki CSS selector'ları tarayıcıya gitmeden doğrulayan özyinelemeli ayrıştırıcı.
+ * querySelectorAll'un kabul ettiği Selectors Level 4 alt kümesini izler: selector listesi, combinator'lar,
+ * type/universal, #id, .class, [attr op value i], pseudo-class/element ve fonksiyonel pseudo'lar
+ * (:not/:is/:where/:has selector listesi, :nth-* an+b [of S]). Boş compound selector, geçersiz token ve
+ * bilinmeyen pseudo adı hata verir.
+ */
+final class CssSelector {
+
+    private static final Set<String> PSEUDO_CLASSES = Set.of(
+            "active", "any-link", "autofill", "blank", "checked", "default", "defined", "disabled", "empty",
+            "enabled", "first", "first-child", "first-of-type", "focus", "focus-visible", "focus-within",
+            "fullscreen", "hover", "in-range", "indeterminate", "invalid", "last-child", "last-of-type", "left",
+            "link", "modal", "only-child", "only-of-type", "optional", "out-of-range", "paused", "picture-in-picture",
+            "placeholder-shown", "playing", "popover-open", "read-only", "read-write", "required", "right", "root",
+            "scope", "target", "target-within", "user-invalid", "user-valid", "valid", "visited");
+    private static final Set<String> SELECTOR_FUNCTIONS = Set.of("not", "is", "where", "has", "matches");
+    private static final Set<String> NTH_FUNCTIONS = Set.of(
+            "nth-child", "nth-last-child", "nth-of-type", "nth-last-of-type");
+    private static final Set<String> ARGUMENT_FUNCTIONS = Set.of("lang", "dir", "state");
+    private static final Set<String> PSEUDO_ELEMENTS = Set.of(
+            "after", "backdrop", "before", "cue", "file-selector-button", "first-letter", "first-line", "marker",
+            "placeholder", "selection");
+    // Eski sözdizimi: tek iki nokta ile yazılabilen pseudo-element'ler
+    private static final Set<String> LEGACY_PSEUDO_ELEMENTS = Set.of("after", "before", "first-letter", "first-line");
+
+    private static final Pattern AN_PLUS_B = Pattern.compile(
+            "(?i)\\s*(odd|even|[+-]?\\d*n(\\s*[+-]\\s*\\d+)?|[+-]?\\d+)\\s*");
+
+    private final String s;
+    private int pos;
+
+    private CssSelector(String s) {
+        this.s = s;
+    }
+
+    /** Selector geçersizse konumu ve nedeni içeren IllegalArgumentException fırlatır. */
+    static void validate(String selector) {
+        CssSelector p = new CssSelector(selector);
+        p.selectorList(false);
+        if (!p.atEnd()) throw p.error("beklenmeyen karakter '" + p.peek() + "'");
+    }
+
+    private void selectorList(boolean relative) {
+        do {
+            skipWs();
+            complex(relative);
+            skipWs();
+        } while (consume(','));
+    }
+
+    private void complex(boolean relative) {
+        // :has() argümanı combinator ile başlayabilir (:has(> img))
+        if (relative && isCombinator(peek())) {
+            pos++;
+            skipWs();
+        }
+        compound();
+        while (true) {
+            int start = pos;
+            boolean ws = skipWs();
+            if (atEnd() || peek() == ',' || peek() == ')') {
+                pos = start;
+                return;
+            }
+            if (isCombinator(peek())) {
+                pos++;
+                skipWs();
+            } else if (!ws) {
+                throw error("combinator bekleniyor");
+            }
+            compound();
+        }
+    }
+
+    private void compound() {
+        int start = pos;
+        if (consume('*')) {
+            // universal
+        } else if (isIdentStart()) {
+            ident();
+        }
+        while (!atEnd()) {
+            char c = peek();
+            if (c == '#') {
+                pos++;
+                if (!isIdentStart()) throw error("'#' sonrası id bekleniyor");
+                ident();
+            } else if (c == '.') {
+                pos++;
+                if (!isIdentStart()) throw error("'.' sonrası class adı bekleniyor");
+                ident();
+            } else if (c == '[') {
+                pos++;
+                attribute();
+            } else if (c == ':') {
+                pos++;
+                pseudo();
+            } else {
+                break;
+            }
+        }
+        if (pos == start) throw error(atEnd() ? "selector eksik" : "selector bekleniyor, '" + peek() + "' bulundu");
+    }
+
+    private void attribute() {
+        skipWs();
+        if (!isIdentStart()) throw error("attribute adı bekleniyor");
+        ident();
+        skipWs();
+        if (consume(']')) return;
+
+        char c = peek();
+        if (c == '~' || c == '|' || c == '^' || c == '$' || c == '*') pos++;
+        if (!consume('=')) throw error("attribute operatörü bekleniyor");
+        skipWs();
+        if (peek() == '"' || peek() == '\'') string();
+        else if (isIdentStart()) ident();
+        else throw error("attribute değeri bekleniyor");
+        skipWs();
+        if (peek() == 'i' || peek() == 'I' || peek() == 's' || peek() == 'S') {
+            pos++;
+            skipWs();
+        }
+        if (!consume(']')) throw error("']' bekleniyor");
+    }
+
+    private void pseudo() {
+        boolean element = consume(':');
+        if (!isIdentStart()) throw error("pseudo adı bekleniyor");
+        int nameStart = pos;
+        ident();
+        String name = s.substring(nameStart, pos).toLowerCase(Locale.ROOT);
+        boolean vendor = name.startsWith("-webkit-") || name.startsWith("-moz-");
+        boolean function = consume('(');
+
+        if (element) {
+            if (function || !(vendor || PSEUDO_ELEMENTS.contains(name))) throw error("bilinmeyen pseudo-element ::" + name);
+            return;
+        }
+        if (!function) {
+            if (!(vendor || PSEUDO_CLASSES.contains(name) || LEGACY_PSEUDO_ELEMENTS.contains(name))) {
+                throw error("bilinmeyen pseudo-class :" + name);
+            }
+            return;
+        }
+
+        if (SELECTOR_FUNCTIONS.contains(name)) {
+            selectorList("has".equals(name));
+        } else if (NTH_FUNCTIONS.contains(name)) {
+            nth();
+        } else if (ARGUMENT_FUNCTIONS.contains(name) || vendor) {
+            skipWs();
+            if (peek() == '"' || peek() == '\'') string();
+            else if (isIdentStart()) ident();
+            else throw error(":" + name + "() argümanı bekleniyor");
+            skipWs();
+        } else {
+            throw error("bilinmeyen pseudo-class :" + name + "()");
+        }
+        if (!consume(')')) throw error("')' bekleniyor");
+    }
+
+    // an+b, ardından isteğe bağlı "of <selector listesi>"
+    private void nth() {
+        int end = pos;
+        while (end < s.length() && s.charAt(end) != ')' && !s.startsWith(" of ", end)) end++;
+        if (!AN_PLUS_B.matcher(s.substring(pos, end)).matches()) throw error("an+b ifadesi geçersiz");
+        pos = end;
+        if (s.startsWith(" of ", pos)) {
+            pos += 4;
+            selectorList(false);
+        }
+    }
+
+    private void ident() {
+        if (consume('-') && consume('-')) {
+            // --custom
+        } else if (!isIdentStartNoDash()) {
+            throw error("geçersiz ad");
+        }
+        name();
+    }
+
+    private void name() {
+        int start = pos;
+        while (!atEnd()) {
+            if (peek() == '\\') escape();
+            else if (isNameChar()) pos++;
+            else break;
+        }
+        if (pos == start) throw error("ad bekleniyor");
+    }
+
+    private void string() {
+        char quote = s.charAt(pos++);
+        while (!atEnd()) {
+            char c = s.charAt(pos);
+            if (c == quote) {
+                pos++;
+                return;
+            }
+            if (c == '\n') break;
+            if (c == '\\') escape();
+            else pos++;
+        }
+        throw error("kapanmayan tırnak");
+    }
+
+    private void escape() {
+        pos++;
+        if (atEnd() || peek() == '\n') throw error("geçersiz kaçış");
+        int hex = 0;
+        while (!atEnd() && hex < 6 && Character.digit(peek(), 16) >= 0) {
+            pos++;
+            hex++;
+        }
+        if (hex == 0) pos++;
+        else if (!atEnd() && peek() == ' ') pos++;
+    }
+
+    private boolean isIdentStart() {
+        if (atEnd()) return false;
+        if (peek() == '-') {
+            if (pos + 1 >= s.length()) return false;
+            char n = s.charAt(pos + 1);
+            return n == '-' || n == '\\' || Character.isLetter(n) || n == '_' || n > 127;
+        }
+        return isIdentStartNoDash();
+    }
+
+    private boolean isIdentStartNoDash() {
+        if (atEnd()) return false;
+        char c = peek();
+        return c == '\\' || c == '_' || Character.isLetter(c) || c > 127;
+    }
+
+    private boolean isNameChar() {
+        if (atEnd()) return false;
+        char c = peek();
+        return c == '\\' || c == '_' || c == '-' || Character.isLetterOrDigit(c) || c > 127;
+    }
+
+    private static boolean isCombinator(char c) {
+        return c == '>' || c == '+' || c == '~';
+    }
+
+    private boolean skipWs() {
+        int start = pos;
+        while (!atEnd() && Character.isWhitespace(peek())) pos++;
+        return pos > start;
+    }
+
+    private boolean consume(char c) {
+        if (!atEnd() && peek() == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private char peek() {
+        return atEnd() ? '\0' : s.charAt(pos);
+    }
+
+    private boolean atEnd() {
+        return pos >= s.length();
+    }
+
+    private IllegalArgumentException error(String reason) {
+        return new IllegalArgumentException(reason + " (konum " + pos + ")");
+    }
+}
@@ -0,0 +1,35 @@
+package com.hepsiburada;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CssSelectorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "div", "*", "a.b#c", "div > a + b ~ c d", " a , b ",
+            "a[href]", "a[href='x']", "a[href^=x i]", "[data-test-id=\"account\"]",
+            "div[class*='productCard-module_productCardRoot'] a[href]",
+            "li:nth-child(2n+1)", "li:nth-child(odd)", "li:nth-child(2n of .x)",
+            "a:not(.x, .y)", "div:has(> img)", "a:is(b c)", "p::before", "p:before",
+            "input:-webkit-autofill", ".\\31 23", "#a\\:b", "-x", ":root"
+    })
+    void acceptsValidSelectors(String selector) {
+        assertDoesNotThrow(() -> CssSelector.validate(selector));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", "div..x", "a[href=\\]", "a[href=", "a[href='x]", "a[href x]", "a[=x]",
+            "div >", "> div", "a,", ",a", "a,,b", "a  >  > b",
+            "#", ".", "#1a", ".1x", "div!", "a)",
+            "a:hoverr", "a::beforee", "a::before()", "a:not(", "a:not()",
+            "li:nth-child(x)", "a:nth-child()"
+    })
+    void rejectsMalformedSelectors(String selector) {
+        assertThrows(IllegalArgumentException.class, () -> CssSelector.validate(selector));
+    }
+}
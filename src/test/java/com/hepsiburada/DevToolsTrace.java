@@ -0,0 +1,134 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bir adım boyunca DevTools performans trace'i ve network event'leri kaydeder.
+ * Trace Chrome'un trace formatında ({"traceEvents": [...]}) yazılır; DevTools Performance
+ * paneline veya chrome://tracing'e yüklenebilir. Network logu ham CDP Network event'leridir.
+ * Dosyalar ArtifactPipeline ile gzip'lenerek arka planda yazılır.
+ * DevTools oturumu yalnızca trace alınan adımda açılır ve stop'ta (başlatma hatasında da) listener'larıyla
+ * birlikte kapatılır; havuzdaki driver'da adım adım CDP oturumu birikmez. Trace kapalıyken hiçbir maliyeti yoktur.
+ */
+public final class DevToolsTrace {
+
+    private static final String CATEGORIES = EnvConfig.get("trace_categories",
+            "-*,devtools.timeline,disabled-by-default-devtools.timeline,disabled-by-default-devtools.timeline.frame,"
+                    + "v8.execute,blink.console,blink.user_timing,loading,latencyInfo,"
+                    + "disabled-by-default-devtools.timeline.stack,disabled-by-default-v8.cpu_profiler");
+
+    private static final List<String> NETWORK_EVENTS = List.of(
+            "Network.requestWillBeSent", "Network.responseReceived",
+            "Network.loadingFinished", "Network.loadingFailed");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final DevTools devTools;
+    private final List<Object> traceEvents = Collections.synchronizedList(new ArrayList<>());
+    private final List<Map<String, Object>> networkEvents = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch complete = new CountDownLatch(1);
+
+    private DevToolsTrace(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /** Aktif sekmede trace ve network kaydını başlatır. */
+    public static DevToolsTrace start(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            throw new RuntimeException("Driver DevTools desteklemiyor: " + driver.getClass().getSimpleName());
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        // Sekme değişmiş olabilir; oturum her trace'te aktif pencereye yeniden bağlanır
+        devTools.createSession(driver.getWindowHandle());
+
+        DevToolsTrace trace = new DevToolsTrace(devTools);
+        try {
+            trace.listen();
+
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Tracing.start", Map.of(
+                    "categories", CATEGORIES,
+                    "transferMode", "ReportEvents")));
+        } catch (RuntimeException e) {
+            trace.close();
+            throw e;
+        }
+        return trace;
+    }
+
+    // Listener'lar temizlenir ve CDP oturumu kapatılır; sonraki trace yeni oturum açar
+    private void close() {
+        try {
+            devTools.clearListeners();
+            devTools.disconnectSession();
+        } catch (RuntimeException ignored) {
+            // Tarayıcı kapanmış olabilir
+        }
+    }
+
+    private void listen() {
+        devTools.addListener(new Event<>("Tracing.dataCollected", in -> in.<Map<String, Object>>read(Json.MAP_TYPE)),
+                data -> {
+                    Object value = data.get("value");
+                    if (value instanceof List) traceEvents.addAll((List<?>) value);
+                });
+        devTools.addListener(new Event<>("Tracing.tracingComplete", in -> {
+            in.skipValue();
+            return Boolean.TRUE;
+        }), done -> complete.countDown());
+
+        for (String method : NETWORK_EVENTS) {
+            devTools.addListener(new Event<>(method, in -> in.<Map<String, Object>>read(Json.MAP_TYPE)),
+                    params -> networkEvents.add(Map.of("method", method, "params", params)));
+        }
+    }
+
+    /**
+     * Kaydı durdurur, tüm trace verisinin gelmesini bekler ve dosyaları kuyruğa verir.
+     * Dönen yollar .gz uzantılıdır.
+     */
+    public List<Path> stop(Path dir, String baseName) {
+        try {
+            devTools.send(new Command<>("Tracing.end", Map.of()));
+            if (!complete.await(30, TimeUnit.SECONDS)) {
+                throw new RuntimeException("DevTools trace 30 sn içinde tamamlanmadı");
+            }
+            devTools.send(new Command<>("Network.disable", Map.of()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            close();
+        }
+
+        try {
+            byte[] trace;
+            byte[] network;
+            synchronized (traceEvents) {
+                trace = MAPPER.writeValueAsBytes(Map.of("traceEvents", traceEvents));
+            }
+            synchronized (networkEvents) {
+                network = MAPPER.writeValueAsBytes(networkEvents);
+            }
+            return List.of(
+                    ArtifactPipeline.text(dir.resolve(baseName + ".trace.json"), trace),
+                    ArtifactPipeline.text(dir.resolve(baseName + ".network.json"), network));
+        } catch (Exception e) {
+            throw new RuntimeException("Trace dosyaları hazırlanamadı: " + baseName, e);
+        }
+    }
+}
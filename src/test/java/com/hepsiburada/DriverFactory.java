@@ -0,0 +1,177 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * Havuzdaki tarayıcıları oluşturur.
+ * browser_mode = headed (varsayılan, maximize) veya headless (sabit window_size).
+ * page_load_strategy = normal, eager veya none; driver.get'in ne zaman döneceğini belirler.
+ * block_resource_types ve block_url_patterns verilirse istekler DevTools Network.setBlockedURLs
+ * ile engellenir.
+ * driver_provider = local (varsayılan) veya grid; grid'de oturumlar grid_url'deki Selenium Grid'de açılır.
+ * fixture_mode açıksa tarayıcının tüm trafiği FixtureServer proxy'sinden geçer.
+ */
+public final class DriverFactory {
+
+    private static final boolean HEADLESS = "headless".equals(
+            EnvConfig.get("browser_mode", "headed").toLowerCase(Locale.ROOT));
+    private static final String WINDOW_SIZE = EnvConfig.get("window_size", "1920,1080");
+    private static final PageLoadStrategy PAGE_LOAD_STRATEGY = pageLoadStrategy();
+
+    private static final Map<String, List<String>> RESOURCE_PATTERNS = new HashMap<>();
+
+    static {
+        RESOURCE_PATTERNS.put("image", List.of("*.jpg*", "*.jpeg*", "*.png*", "*.gif*", "*.webp*", "*.avif*", "*.svg*"));
+        RESOURCE_PATTERNS.put("font", List.of("*.woff*", "*.woff2*", "*.ttf*", "*.otf*", "*.eot*"));
+        RESOURCE_PATTERNS.put("media", List.of("*.mp4*", "*.webm*", "*.m3u8*", "*.mp3*"));
+    }
+
+    private static final List<String> BLOCKED_URLS = blockedUrls();
+    private static final DriverProvider PROVIDER = provider();
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver create() {
+        ChromeOptions options = baseOptions();
+        applyFixtureProxy(options);
+        WebDriver driver = PROVIDER.create(options);
+
+        if (!HEADLESS) driver.manage().window().maximize();
+        // QuietWait async script'leri kendi üst sınırlarını uygular
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(60));
+
+        ((JavascriptExecutor) driver).executeScript(
+                "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})"
+        );
+
+        applyNetworkBlocking(driver);
+
+        // Adım metrikleri için tüm komutlar CommandListener üzerinden geçer
+        if (StepMetrics.ENABLED) {
+            driver = new EventFiringDecorator<WebDriver>(new CommandListener()).decorate(driver);
+        }
+
+        return driver;
+    }
+
+    static boolean headless() {
+        return HEADLESS;
+    }
+
+    /**
+     * Engelleme listesini driver'ın aktif sekmesine uygular.
+     * DevTools komutları sekme başınadır; yeni açılan sekmeye geçildikten sonra tekrar çağrılmalıdır.
+     */
+    public static void applyNetworkBlocking(WebDriver driver) {
+        if (BLOCKED_URLS.isEmpty() || !(driver instanceof HasCdp)) return;
+
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", new HashMap<>());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKED_URLS));
+    }
+
+    static ChromeOptions baseOptions() {
+        ChromeOptions options = new ChromeOptions();
+
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-blink-features=AutomationControlled");
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        prefs.put("profile.default_content_setting_values.notifications", 2);
+        options.setExperimentalOption("prefs", prefs);
+
+        options.addArguments("--disable-features=FedCm,IdentityCredential,InterestCohort");
+        options.setExperimentalOption("excludeSwitches", List.of("enable-automation"));
+        options.setExperimentalOption("useAutomationExtension", false);
+
+        options.addArguments("--lang=tr-TR");
+
+        // Hata artefaktlarına konsol logu eklenebilsin
+        LoggingPreferences logs = new LoggingPreferences();
+        logs.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability("goog:loggingPrefs", logs);
+
+        options.setPageLoadStrategy(PAGE_LOAD_STRATEGY);
+
+        if (HEADLESS) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=" + WINDOW_SIZE);
+        }
+
+        return options;
+    }
+
+    // Proxy 127.0.0.1'de dinler; grid node'larından erişilemez
+    private static void applyFixtureProxy(ChromeOptions options) {
+        if (!FixtureServer.isActive()) return;
+        if (PROVIDER instanceof GridProvider) {
+            throw new RuntimeException("fixture_mode yalnızca driver_provider = local ile kullanılabilir");
+        }
+        options.addArguments("--proxy-server=" + FixtureServer.proxyAddress());
+        options.setAcceptInsecureCerts(true);
+    }
+
+    private static DriverProvider provider() {
+        String v = EnvConfig.get("driver_provider", "local").toLowerCase(Locale.ROOT);
+        switch (v) {
+            case "local":
+                return new LocalChromeProvider();
+            case "grid":
+                return new GridProvider();
+            default:
+                throw new RuntimeException("Desteklenmeyen driver_provider: " + v + " (local, grid)");
+        }
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        String v = EnvConfig.get("page_load_strategy", "normal").toLowerCase(Locale.ROOT);
+        for (PageLoadStrategy s : PageLoadStrategy.values()) {
+            if (s.toString().equals(v)) return s;
+        }
+        throw new RuntimeException("Desteklenmeyen page_load_strategy: " + v + " (normal, eager, none)");
+    }
+
+    private static List<String> blockedUrls() {
+        Set<String> urls = new LinkedHashSet<>();
+
+        for (String type : split(EnvConfig.get("block_resource_types", ""))) {
+            List<String> patterns = RESOURCE_PATTERNS.get(type.toLowerCase(Locale.ROOT));
+            if (patterns == null) {
+                throw new RuntimeException("Desteklenmeyen block_resource_types değeri: " + type
+                        + " (image, font, media)");
+            }
+            urls.addAll(patterns);
+        }
+        urls.addAll(split(EnvConfig.get("block_url_patterns", "")));
+
+        return new ArrayList<>(urls);
+    }
+
+    private static List<String> split(String csv) {
+        List<String> out = new ArrayList<>();
+        for (String s : csv.split(",")) {
+            if (!s.trim().isEmpty()) out.add(s.trim());
+        }
+        return out;
+    }
+}
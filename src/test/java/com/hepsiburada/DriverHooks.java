@@ -0,0 +1,32 @@
+package com.hepsiburada;
+
+import com.thoughtworks.gauge.AfterScenario;
+import com.thoughtworks.gauge.AfterSuite;
+import com.thoughtworks.gauge.BeforeScenario;
+import com.thoughtworks.gauge.BeforeSuite;
+
+public class DriverHooks {
+
+    @BeforeSuite
+    public void loadSharedData() {
+        DriverPool.prewarm();
+        StepImplementation.loadShared();
+        FixtureServer.start();
+    }
+
+    @BeforeScenario
+    public void leaseDriver() {
+        DriverPool.lease();
+    }
+
+    @AfterScenario
+    public void releaseDriver() {
+        DriverPool.release();
+    }
+
+    @AfterSuite
+    public void quitDrivers() {
+        DriverPool.shutdown();
+        FixtureServer.stop();
+    }
+}
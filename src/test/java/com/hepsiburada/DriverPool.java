@@ -0,0 +1,162 @@
+package com.hepsiburada;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gauge thread'leri arasında paylaşılan tarayıcı havuzu (yerel ChromeDriver veya Grid, bkz. DriverFactory).
+ * Her thread senaryo başında bir {@link DriverSession} kiralar, senaryo sonunda geri verir.
+ * Havuz boyutu env properties içindeki driver_pool_size ile belirlenir.
+ * Tarayıcılar senaryolar arasında kapatılmaz; geri verilirken temizlenir ve suite sonunda kapatılır.
+ */
+public final class DriverPool {
+
+    private static final int POOL_SIZE = Math.max(1, EnvConfig.getInt("driver_pool_size", 1));
+    private static final int LEASE_TIMEOUT_SECONDS = EnvConfig.getInt("driver_pool_lease_timeout_seconds", 300);
+
+    private static final boolean RESET_BETWEEN_SCENARIOS = EnvConfig.getBoolean("driver_reset_between_scenarios", true);
+    private static final int PREWARM = Math.min(POOL_SIZE, EnvConfig.getInt("driver_prewarm", 1));
+
+    private static final Semaphore permits = new Semaphore(POOL_SIZE, true);
+    private static final Deque<DriverSession> idle = new ConcurrentLinkedDeque<>();
+    private static final Set<DriverSession> all = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<DriverSession> current = new ThreadLocal<>();
+    // Suite başında arka planda açılan, henüz hazır olmayan tarayıcılar
+    private static final Queue<Future<DriverSession>> warming = new ConcurrentLinkedQueue<>();
+
+    static {
+        // Gauge süreci AfterSuite'e ulaşamadan kapanırsa Chrome süreçleri geride kalmasın
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    /** Thread'in kiraladığı session; henüz yoksa havuzdan kiralanır. */
+    public static DriverSession current() {
+        DriverSession s = current.get();
+        if (s == null) s = lease();
+        return s;
+    }
+
+    /**
+     * driver_prewarm kadar tarayıcıyı arka planda başlatır; çağıran thread beklemez.
+     * Suite başında elements.json/values.json yüklenirken Chrome açılışı paralel ilerler.
+     */
+    public static void prewarm() {
+        if (PREWARM <= 0 || !warming.isEmpty() || !all.isEmpty()) return;
+
+        ExecutorService executor = Executors.newFixedThreadPool(PREWARM, r -> {
+            Thread t = new Thread(r, "driver-prewarm");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < PREWARM; i++) {
+            warming.add(executor.submit(() -> {
+                DriverSession s = new DriverSession(DriverFactory.create());
+                all.add(s);
+                return s;
+            }));
+        }
+        executor.shutdown();
+    }
+
+    public static int size() {
+        return POOL_SIZE;
+    }
+
+    /** Thread'in kiraladığı session; yoksa null (yeni kiralama yapmaz). */
+    public static DriverSession peek() {
+        return current.get();
+    }
+
+    public static DriverSession lease() {
+        DriverSession s = current.get();
+        if (s != null) return s;
+
+        try {
+            if (!permits.tryAcquire(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new RuntimeException("Havuzdan driver alınamadı (" + LEASE_TIMEOUT_SECONDS
+                        + " sn). Havuz boyutu: " + POOL_SIZE);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        }
+
+        try {
+            s = idle.pollFirst();
+            if (s == null) s = takeWarming();
+            if (s == null) {
+                s = new DriverSession(DriverFactory.create());
+                all.add(s);
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        current.set(s);
+        return s;
+    }
+
+    /** Thread'in session'ını havuza geri verir. Kiralanmış session yoksa bir şey yapmaz. */
+    public static void release() {
+        DriverSession s = current.get();
+        if (s == null) return;
+
+        current.remove();
+        try {
+            if (!RESET_BETWEEN_SCENARIOS || s.reset()) {
+                idle.offerFirst(s);
+            } else {
+                // Tarayıcı yanıt vermiyor; sonraki kiralamada yenisi açılır
+                all.remove(s);
+                s.quit();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static DriverSession takeWarming() {
+        Future<DriverSession> f = warming.poll();
+        if (f == null) return null;
+        try {
+            return f.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        } catch (ExecutionException e) {
+            // Ön ısıtma başarısız oldu, normal yoldan oluşturulur
+            return null;
+        }
+    }
+
+    /** Suite sonunda tüm tarayıcıları kapatır. */
+    public static synchronized void shutdown() {
+        Future<DriverSession> f;
+        while ((f = warming.poll()) != null) {
+            try {
+                f.get();
+            } catch (Exception ignored) {
+            }
+        }
+        for (DriverSession s : all) {
+            s.quit();
+        }
+        all.clear();
+        idle.clear();
+        current.remove();
+    }
+}
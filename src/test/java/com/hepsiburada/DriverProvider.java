@@ -0,0 +1,17 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * Tarayıcı oturumunun nerede açılacağı. DriverFactory ortak ayarları (pencere, timeout, ağ engelleme,
+ * metrik dinleyicisi) oturum açıldıktan sonra uygular; provider yalnızca ham driver'ı üretir.
+ * driver_provider = local (varsayılan, aynı makinede ChromeDriver) veya grid (Selenium Grid).
+ */
+public interface DriverProvider {
+
+    WebDriver create(ChromeOptions options);
+
+    /** Rapor ve hata mesajları için kısa ad. */
+    String name();
+}
@@ -0,0 +1,29 @@
+package com.hepsiburada;
+
+import com.thoughtworks.gauge.screenshot.CustomScreenshotWriter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * screenshot_on_failure için Gauge'un masaüstü görüntüsü yerine thread'in tarayıcısından ekran görüntüsü
+ * alır; headless ve paralel koşumda da rapordaki görüntü doğru sekmeyi gösterir. Görüntü ArtifactHooks ile
+ * paylaşılır (hata başına tek yakalama) ve ArtifactPipeline ile arka planda sıkıştırılıp yazılır; rapor dosyaları
+ * suite sonunda okunduğu için adım thread'i yazmayı beklemez.
+ */
+public class DriverScreenshotWriter implements CustomScreenshotWriter {
+
+    @Override
+    public String takeScreenshot() {
+        DriverSession session = DriverPool.peek();
+        if (session == null) {
+            throw new RuntimeException("Ekran görüntüsü alınamadı: thread'in tarayıcısı yok");
+        }
+
+        byte[] png = ArtifactHooks.failureScreenshot(session);
+        Path file = ArtifactPipeline.screenshot(
+                Paths.get(System.getenv("gauge_screenshots_dir"), "screenshot-" + UUID.randomUUID()), png);
+        return file.getFileName().toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Bir Gauge thread'inin senaryo boyunca kullandığı tarayıcı ve ona bağlı yardımcılar.
+ * Havuzdan kiralanır, senaryo bitince havuza geri verilir; aynı anda tek thread kullanır.
+ */
+public class DriverSession {
+
+    public final WebDriver driver;
+    public final WebDriverWait wait;
+    public final Actions actions;
+    public final TabManager tabs;
+
+    // ArtifactHooks'un son adımlardan tuttuğu ekran görüntüleri (artifact_ring_size)
+    final Deque<ArtifactHooks.StepSnapshot> recentSteps = new ArrayDeque<>();
+    // Başarısız adımın tek ekran görüntüsü; rapor ve hata artefaktları aynı byte'ları kullanır
+    byte[] failureShot;
+
+    // Login durumu tarayıcıya (cookie'lere) bağlı olduğu için session üzerinde tutulur
+    boolean loginVerifiedOnce = false;
+    boolean loginHoverVerifiedOnce = false;
+
+    DriverSession(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new MeasuredWait(driver, Duration.ofSeconds(15));
+        this.actions = new Actions(driver);
+        this.tabs = new TabManager(driver);
+    }
+
+    /**
+     * Senaryolar arası hızlı temizlik: fazla sekmeler kapatılır, storage ve cookie'ler silinir,
+     * about:blank açılır. Tarayıcı yeniden başlatılmaz.
+     *
+     * @return tarayıcı kullanılabilir durumdaysa true; false ise session kapatılmalıdır
+     */
+    boolean reset() {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            // Storage origin'e bağlıdır; about:blank'e geçmeden önce mevcut sayfada temizlenir
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (WebDriverException ignored) {
+            }
+
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", new HashMap<>());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+        } catch (WebDriverException e) {
+            return false;
+        }
+
+        tabs.clear();
+        recentSteps.clear();
+        failureShot = null;
+        loginVerifiedOnce = false;
+        loginHoverVerifiedOnce = false;
+        return true;
+    }
+
+    void quit() {
+        try {
+            driver.quit();
+        } catch (Exception ignored) {
+        }
+    }
+}
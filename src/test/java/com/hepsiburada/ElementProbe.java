@@ -0,0 +1,243 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir veya birden fazla elementin etkileşim durumunu tek script çağrısında okur: var mı, görünür mü,
+ * disabled mı, viewport içinde mi, merkezine tıklanınca başka bir element mi yakalıyor (overlay, sticky
+ * header). İstenirse element viewport dışındaysa ortalanır ve koşul sağlanana kadar tarayıcıda
+ * beklenir; böylece bir tıklama presence + scroll + attribute + clickable + click yerine 1–2 komuttur.
+ */
+public final class ElementProbe {
+
+    public enum Condition {
+        /** Beklemeden anlık durum */
+        NONE,
+        /** Element DOM'da */
+        PRESENT,
+        /** Görünür, etkin, viewport içinde ve üstü kapalı değil */
+        CLICKABLE
+    }
+
+    private static final String PROBE_SCRIPT =
+            "const locs = arguments[0], cond = arguments[1], scroll = arguments[2], timeoutMs = arguments[3];" +
+            "const done = arguments[arguments.length - 1];" +
+            "const find = l => {" +
+            // Yedekli key: alternatifler sırayla denenir, eşleşenin sırası ve süresi Java'ya döner
+            "  if (l.kind === 'chain') {" +
+            "    for (let i = 0; i < l.alts.length; i++) {" +
+            "      const t0 = performance.now(), e = find(l.alts[i]);" +
+            "      if (e) { l.hit = i; l.ms = performance.now() - t0; return e; }" +
+            "    }" +
+            "    l.hit = -1; return null;" +
+            "  }" +
+            "  if (l.kind === 'element') return l.el && l.el.isConnected ? l.el : null;" +
+            "  if (l.kind === 'id') return document.getElementById(l.sel);" +
+            "  if (l.kind === 'xpath') return document.evaluate(l.sel, document, null," +
+            "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  return document.querySelector(l.sel);" +
+            "};" +
+            "const describe = e => e.tagName.toLowerCase() + (e.id ? '#' + e.id : '')" +
+            "  + (typeof e.className === 'string' && e.className.trim()" +
+            "     ? '.' + e.className.trim().split(/\\s+/).slice(0, 2).join('.') : '');" +
+            "const inspect = el => {" +
+            "  if (!el) return {present: false};" +
+            "  const vw = window.innerWidth, vh = window.innerHeight;" +
+            "  let r = el.getBoundingClientRect();" +
+            "  if (scroll && (r.top < 0 || r.left < 0 || r.bottom > vh || r.right > vw)) {" +
+            "    el.scrollIntoView({block: 'center', inline: 'center'});" +
+            "    r = el.getBoundingClientRect();" +
+            "  }" +
+            "  const st = window.getComputedStyle(el);" +
+            "  const visible = r.width > 0 && r.height > 0 && st.visibility !== 'hidden'" +
+            "    && st.display !== 'none' && parseFloat(st.opacity) > 0;" +
+            "  const disabled = !!el.disabled || el.getAttribute('aria-disabled') === 'true';" +
+            "  const inViewport = r.bottom > 0 && r.right > 0 && r.top < vh && r.left < vw;" +
+            "  let obscuredBy = null;" +
+            "  if (visible && inViewport) {" +
+            "    const x = Math.min(Math.max(r.left + r.width / 2, 0), vw - 1);" +
+            "    const y = Math.min(Math.max(r.top + r.height / 2, 0), vh - 1);" +
+            "    const hit = document.elementFromPoint(x, y);" +
+            "    if (hit && hit !== el && !el.contains(hit)) obscuredBy = describe(hit);" +
+            "  }" +
+            "  return {present: true, element: el, visible: visible, disabled: disabled, inViewport: inViewport," +
+            "    obscuredBy: obscuredBy, x: r.left, y: r.top, width: r.width, height: r.height};" +
+            "};" +
+            "const ok = s => cond === 'NONE' || (s.present && (cond === 'PRESENT'" +
+            "  || (s.visible && !s.disabled && s.inViewport && !s.obscuredBy)));" +
+            "let finished = false, obs = null, timer = null, poll = null;" +
+            "const finish = v => {" +
+            "  if (finished) return; finished = true;" +
+            "  if (obs) obs.disconnect(); clearTimeout(timer); clearInterval(poll); done(v);" +
+            "};" +
+            "const check = last => {" +
+            "  const states = locs.map(l => {" +
+            "    const s = inspect(find(l));" +
+            "    if (l.kind === 'chain') { s.alt = l.hit; s.altMs = l.ms; }" +
+            "    return s;" +
+            "  });" +
+            "  if (last || states.every(ok)) finish(states);" +
+            "};" +
+            "check(cond === 'NONE');" +
+            "if (!finished) {" +
+            // Overlay'in kalkması her zaman DOM mutasyonu üretmez (transition); kısa aralıklı yoklama da yapılır
+            "  obs = new MutationObserver(() => check(false));" +
+            "  obs.observe(document, {subtree: true, childList: true, attributes: true});" +
+            "  poll = setInterval(() => check(false), 100);" +
+            "  timer = setTimeout(() => check(true), timeoutMs);" +
+            "}";
+
+    private ElementProbe() {
+    }
+
+    /** Bir elementin script'ten okunan durumu. */
+    public static final class State {
+        public final String key;
+        public final boolean present;
+        public final boolean visible;
+        public final boolean disabled;
+        public final boolean inViewport;
+        /** Elementin merkezini kapatan elementin kısa tanımı (tag#id.class), kapalı değilse null */
+        public final String obscuredBy;
+        public final WebElement element;
+        public final double x;
+        public final double y;
+        public final double width;
+        public final double height;
+
+        State(String key, Map<?, ?> raw) {
+            this.key = key;
+            this.present = Boolean.TRUE.equals(raw.get("present"));
+            this.visible = Boolean.TRUE.equals(raw.get("visible"));
+            this.disabled = Boolean.TRUE.equals(raw.get("disabled"));
+            this.inViewport = Boolean.TRUE.equals(raw.get("inViewport"));
+            this.obscuredBy = (String) raw.get("obscuredBy");
+            Object el = raw.get("element");
+            this.element = el instanceof WebElement ? (WebElement) el : null;
+            this.x = number(raw.get("x"));
+            this.y = number(raw.get("y"));
+            this.width = number(raw.get("width"));
+            this.height = number(raw.get("height"));
+        }
+
+        /** Native click'in başarılı olması beklenir mi */
+        public boolean clickable() {
+            return present && visible && !disabled && inViewport && obscuredBy == null;
+        }
+
+        @Override
+        public String toString() {
+            if (!present) return key + " [yok]";
+            return key + " [görünür=" + visible + ", disabled=" + disabled + ", viewport=" + inViewport
+                    + (obscuredBy != null ? ", üstünde=" + obscuredBy : "") + "]";
+        }
+
+        private static double number(Object o) {
+            return o instanceof Number ? ((Number) o).doubleValue() : 0;
+        }
+    }
+
+    /** Anlık durum; scroll true ise viewport dışındaki elementler ortalanır. Sonuç key sırasını korur. */
+    public static Map<String, State> probe(WebDriver driver, LocatorHelper locators, boolean scroll, String... keys) {
+        return run(driver, locators, Condition.NONE, scroll, Duration.ZERO, keys);
+    }
+
+    /**
+     * Element koşulu sağlayana kadar tarayıcıda bekler ve son durumu döner.
+     * Süre dolarsa hata fırlatmaz; çağıran State'e bakıp karar verir.
+     */
+    public static State await(WebDriver driver, LocatorHelper locators, String key,
+                              Condition condition, Duration timeout) {
+        return run(driver, locators, condition, true, timeout, key).get(key);
+    }
+
+    private static Map<String, State> run(WebDriver driver, LocatorHelper locators, Condition condition,
+                                          boolean scroll, Duration timeout, String... keys) {
+        List<Map<String, Object>> args = new ArrayList<>(keys.length);
+        List<LocatorHelper.ScriptTargets> targets = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            LocatorHelper.ScriptTargets t = locators.getScriptTargets(key);
+            targets.add(t);
+            args.add(t != null ? chainArg(t) : elementArg(driver, locators, key));
+        }
+
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        boolean waiting = condition != Condition.NONE;
+        if (waiting) StepMetrics.waitStarted();
+        try {
+            while (true) {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                try {
+                    Object res = ((JavascriptExecutor) driver).executeAsyncScript(
+                            PROBE_SCRIPT, args, condition.name(), scroll, remaining);
+                    Map<String, State> states = toStates(keys, res);
+                    recordChainHits(keys, targets, (List<?>) res);
+                    return states;
+                } catch (WebDriverException e) {
+                    // Script çalışırken sayfa değişti; süre varsa yeni sayfada tekrar denenir
+                    if (!waiting || deadline - System.currentTimeMillis() <= 0) throw e;
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(ie);
+                    }
+                }
+            }
+        } finally {
+            if (waiting) StepMetrics.waitFinished();
+        }
+    }
+
+    // Script ile çözülemeyen alternatif içeren key'lerde element WebDriver tarafında (LocatorChain) bulunup script'e verilir
+    private static Map<String, Object> elementArg(WebDriver driver, LocatorHelper locators, String key) {
+        Map<String, Object> arg = new HashMap<>();
+        List<WebElement> found = driver.findElements(locators.getBy(key));
+        arg.put("kind", "element");
+        if (!found.isEmpty()) arg.put("el", found.get(0));
+        return arg;
+    }
+
+    // Tek locator'lı key'ler de tek alternatifli zincir olarak verilir
+    private static Map<String, Object> chainArg(LocatorHelper.ScriptTargets targets) {
+        Map<String, Object> arg = new HashMap<>();
+        arg.put("kind", "chain");
+        arg.put("alts", targets.toArg());
+        return arg;
+    }
+
+    // Script'te hangi alternatifin eşleştiği LocatorStats'a yazılır (öncekiler ıska)
+    private static void recordChainHits(String[] keys, List<LocatorHelper.ScriptTargets> targets, List<?> raw) {
+        for (int i = 0; i < keys.length; i++) {
+            if (targets.get(i) == null) continue;
+            Map<?, ?> m = (Map<?, ?>) raw.get(i);
+            Object alt = m.get("alt");
+            Object ms = m.get("altMs");
+            if (alt instanceof Number) {
+                targets.get(i).record(((Number) alt).intValue(), ms instanceof Number ? ((Number) ms).doubleValue() : 0);
+            }
+        }
+    }
+
+    private static Map<String, State> toStates(String[] keys, Object res) {
+        if (!(res instanceof List) || ((List<?>) res).size() != keys.length) {
+            throw new RuntimeException("Element durumu okunamadı: " + res);
+        }
+        List<?> list = (List<?>) res;
+        Map<String, State> states = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            states.put(keys[i], new State(keys[i], (Map<?, ?>) list.get(i)));
+        }
+        return states;
+    }
+}
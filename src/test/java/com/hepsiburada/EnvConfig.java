@@ -0,0 +1,36 @@
+package com.hepsiburada;
+
+import java.util.Locale;
+
+/**
+ * env/default/*.properties içindeki değerler Gauge tarafından ortam değişkeni olarak verilir.
+ * Aynı key JVM system property olarak da verilebilir (-Dkey=value), o öncelikli olur.
+ */
+public final class EnvConfig {
+
+    private EnvConfig() {
+    }
+
+    public static String get(String key, String defaultValue) {
+        String v = System.getProperty(key);
+        if (v == null || v.trim().isEmpty()) v = System.getenv(key);
+        if (v == null || v.trim().isEmpty()) return defaultValue;
+        return v.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String v = get(key, null);
+        if (v == null) return defaultValue;
+        try {
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Geçersiz sayı değeri: " + key + " = " + v, e);
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String v = get(key, null);
+        if (v == null) return defaultValue;
+        return "true".equals(v.toLowerCase(Locale.ROOT));
+    }
+}
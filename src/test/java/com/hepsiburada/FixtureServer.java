@@ -0,0 +1,425 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarayıcının tüm trafiği için kayıt/tekrar oynatma proxy'si. Chrome --proxy-server ile bu sunucuya
+ * yönlendirilir; böylece sayfa, CDN, statik dosya ve login/API host'larının hepsi kapsanır.
+ * <ul>
+ *     <li>record: istekler gerçek host'a iletilir, yanıt tarayıcıya header'larıyla birlikte aynen döner
+ *     ve fixture_archive_dir altına yazılır.</li>
+ *     <li>replay: aynı arşiv ağ erişimi olmadan sunulur; arşivde olmayan istek 404 döner.</li>
+ * </ul>
+ * HTTPS istekleri (CONNECT) yerel bir HTTPS sunucusuna tünellenir; sertifika koşum başına keytool ile üretilir
+ * ve tarayıcı acceptInsecureCerts ile açılır. Arşiv anahtarı method, host, path, sıralı query ve gövdeden
+ * oluşur; fixture_ignored_params'taki cache-buster parametreleri anahtara girmez.
+ * Set-Cookie ve kimlik doğrulama header'ları tarayıcıya iletilir ama arşive yazılmaz; index.json her yeni kayıttan sonra yazılır.
+ */
+public final class FixtureServer {
+
+    private static final String MODE = EnvConfig.get("fixture_mode", "off").toLowerCase(Locale.ROOT);
+    private static final Path ARCHIVE_DIR = Paths.get(EnvConfig.get("fixture_archive_dir", "fixtures/hepsiburada"));
+    private static final int PORT = EnvConfig.getInt("fixture_port", 0);
+    private static final Set<String> IGNORED_PARAMS = lowerSet(EnvConfig.get("fixture_ignored_params",
+            "_,t,ts,cb,cachebuster,timestamp,nocache,rnd,rand"));
+
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of(
+            "host", "connection", "content-length", "expect", "upgrade", "accept-encoding",
+            "keep-alive", "proxy-connection", "proxy-authorization", "te", "trailer", "transfer-encoding");
+    // Bağlantıya özgü header'lar; yanıt gövdesi sıkıştırmasız ve sabit uzunlukta yeniden gönderilir
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+            "content-length", "transfer-encoding", "connection", "keep-alive", "content-encoding", "alt-svc");
+    // Oturum bilgisi arşive (ve yanlışlıkla repoya) yazılmasın; replay login gerektirmez
+    private static final Set<String> SECRET_RESPONSE_HEADERS = Set.of(
+            "set-cookie", "set-cookie2", "authorization", "www-authenticate", "proxy-authenticate");
+
+    private static final ObjectMapper om = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static ServerSocket proxy;
+    private static HttpServer httpServer;
+    private static HttpsServer httpsServer;
+    private static ExecutorService executor;
+    private static HttpClient client;
+    private static final Map<String, Entry> archive = new ConcurrentHashMap<>();
+
+    private FixtureServer() {
+    }
+
+    public static boolean isActive() {
+        return "record".equals(MODE) || "replay".equals(MODE);
+    }
+
+    public static synchronized void start() {
+        if (!isActive() || proxy != null) return;
+
+        try {
+            if ("replay".equals(MODE)) loadArchive();
+            else client = HttpClient.newBuilder()
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(15))
+                    .build();
+
+            // Daemon thread'ler: stop() çağrılmadan biten koşumda da JVM kapanabilsin
+            executor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "fixture-server");
+                t.setDaemon(true);
+                return t;
+            });
+
+            InetSocketAddress loopback = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+            httpServer = HttpServer.create(loopback, 0);
+            httpServer.createContext("/", ex -> handle(ex, "http"));
+            httpServer.setExecutor(executor);
+            httpServer.start();
+
+            httpsServer = HttpsServer.create(loopback, 0);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext()));
+            httpsServer.createContext("/", ex -> handle(ex, "https"));
+            httpsServer.setExecutor(executor);
+            httpsServer.start();
+
+            proxy = new ServerSocket(PORT, 50, InetAddress.getLoopbackAddress());
+            executor.execute(FixtureServer::acceptLoop);
+        } catch (Exception e) {
+            throw new RuntimeException("Fixture sunucusu başlatılamadı (" + MODE + ")", e);
+        }
+    }
+
+    public static synchronized void stop() {
+        if (proxy == null) return;
+        try {
+            proxy.close();
+        } catch (IOException ignored) {
+            // Zaten kapalı
+        }
+        proxy = null;
+        httpServer.stop(0);
+        httpsServer.stop(0);
+        executor.shutdownNow();
+        executor = null;
+        if ("record".equals(MODE)) saveArchive();
+    }
+
+    /** Chrome --proxy-server değeri; sunucu gerekirse başlatılır. */
+    public static String proxyAddress() {
+        start();
+        return "127.0.0.1:" + proxy.getLocalPort();
+    }
+
+    private static void acceptLoop() {
+        ServerSocket ss = proxy;
+        while (ss != null && !ss.isClosed()) {
+            try {
+                Socket s = ss.accept();
+                executor.execute(() -> tunnel(s));
+            } catch (Exception e) {
+                // stop() soketi kapattı
+                return;
+            }
+        }
+    }
+
+    /**
+     * CONNECT istekleri yerel HTTPS sunucusuna, mutlak URI'li düz HTTP istekleri yerel HTTP sunucusuna
+     * bayt bayt aktarılır. HTTP ayrıştırma ve keep-alive com.sun.net.httpserver'a kalır.
+     */
+    private static void tunnel(Socket accepted) {
+        try (Socket browser = accepted) {
+            InputStream in = browser.getInputStream();
+            byte[] head = readHead(in);
+            String requestLine = new String(head, StandardCharsets.ISO_8859_1).split("\r\n", 2)[0];
+            boolean connect = requestLine.regionMatches(true, 0, "CONNECT ", 0, 8);
+
+            int port = connect ? httpsServer.getAddress().getPort() : httpServer.getAddress().getPort();
+            try (Socket backend = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                if (connect) {
+                    browser.getOutputStream().write("HTTP/1.1 200 Connection Established\r\n\r\n"
+                            .getBytes(StandardCharsets.ISO_8859_1));
+                    browser.getOutputStream().flush();
+                } else {
+                    backend.getOutputStream().write(head);
+                }
+
+                executor.execute(() -> pipe(backend, browser));
+                pipe(browser, backend);
+            }
+        } catch (Exception ignored) {
+            // Tarayıcı bağlantıyı kapattı
+        }
+    }
+
+    private static void pipe(Socket from, Socket to) {
+        try {
+            from.getInputStream().transferTo(to.getOutputStream());
+        } catch (IOException ignored) {
+            // Karşı taraf kapandı
+        } finally {
+            try {
+                to.shutdownOutput();
+            } catch (IOException ignored) {
+                // Zaten kapalı
+            }
+        }
+    }
+
+    // İstek satırı ve header'lar; gövde tünelde aynen aktarılır
+    private static byte[] readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b, match = 0;
+        while ((b = in.read()) != -1) {
+            out.write(b);
+            if (b == '\r') match = match == 2 ? 3 : 1;
+            else match = b == '\n' && (match == 1 || match == 3) ? match + 1 : 0;
+            if (match == 4) return out.toByteArray();
+            if (out.size() > 64 * 1024) break;
+        }
+        throw new IOException("Geçersiz proxy isteği");
+    }
+
+    private static void handle(HttpExchange ex, String scheme) throws IOException {
+        try {
+            URI target = target(ex, scheme);
+            byte[] requestBody = readAll(ex.getRequestBody());
+            String key = key(ex.getRequestMethod(), target, requestBody);
+
+            if ("record".equals(MODE)) {
+                record(ex, target, requestBody, key);
+                return;
+            }
+
+            Entry entry = archive.get(key);
+            if (entry == null) {
+                send(ex, 404, Map.of(), ("Fixture arşivinde yok: " + target).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            send(ex, entry.status, entry.headers, Files.readAllBytes(ARCHIVE_DIR.resolve("bodies").resolve(entry.body)));
+        } catch (Exception e) {
+            send(ex, 502, Map.of(), ("Fixture hatası: " + e).getBytes(StandardCharsets.UTF_8));
+        } finally {
+            ex.close();
+        }
+    }
+
+    // Düz HTTP proxy isteklerinde URI mutlaktır; tünellenen HTTPS isteklerinde host Host header'ından gelir
+    private static URI target(HttpExchange ex, String scheme) {
+        URI uri = ex.getRequestURI();
+        if (uri.isAbsolute()) return uri;
+        return URI.create(scheme + "://" + ex.getRequestHeaders().getFirst("Host") + uri.getRawPath()
+                + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+    }
+
+    private static void record(HttpExchange ex, URI target, byte[] requestBody, String key) throws Exception {
+        HttpRequest.Builder rb = HttpRequest.newBuilder(target)
+                .timeout(Duration.ofSeconds(30))
+                .method(ex.getRequestMethod(), requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+
+        for (Map.Entry<String, List<String>> h : ex.getRequestHeaders().entrySet()) {
+            String name = h.getKey().toLowerCase(Locale.ROOT);
+            if (SKIPPED_REQUEST_HEADERS.contains(name)) continue;
+            for (String v : h.getValue()) {
+                try {
+                    rb.header(h.getKey(), v);
+                } catch (IllegalArgumentException ignored) {
+                    // HttpClient'ın kısıtlı header'ları
+                }
+            }
+        }
+        // Gövde arşive açık yazılsın ve yeniden gönderilebilsin diye sıkıştırmasız yanıt istenir
+        rb.header("Accept-Encoding", "identity");
+
+        HttpResponse<byte[]> res = client.send(rb.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+        // Tarayıcı canlı header'ları (Set-Cookie dahil) alır; login ve sepet akışları kaydedilebilir
+        Map<String, List<String>> live = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Entry entry = new Entry();
+        entry.method = ex.getRequestMethod();
+        entry.uri = target.toString();
+        entry.status = res.statusCode();
+        entry.body = key + ".bin";
+        for (Map.Entry<String, List<String>> h : res.headers().map().entrySet()) {
+            String name = h.getKey().toLowerCase(Locale.ROOT);
+            if (name.startsWith(":") || SKIPPED_RESPONSE_HEADERS.contains(name)) continue;
+            live.put(h.getKey(), h.getValue());
+            if (!SECRET_RESPONSE_HEADERS.contains(name)) entry.headers.put(h.getKey(), new ArrayList<>(h.getValue()));
+        }
+
+        Path bodies = ARCHIVE_DIR.resolve("bodies");
+        Files.createDirectories(bodies);
+        Files.write(bodies.resolve(entry.body), res.body());
+        archive.put(key, entry);
+        // Koşum yarıda kesilse de kaydedilen yanıtlar index'siz kalmasın
+        saveArchive();
+
+        send(ex, res.statusCode(), live, res.body());
+    }
+
+    private static void send(HttpExchange ex, int status, Map<String, List<String>> headers, byte[] body) throws IOException {
+        for (Map.Entry<String, List<String>> h : headers.entrySet()) {
+            for (String v : h.getValue()) ex.getResponseHeaders().add(h.getKey(), v);
+        }
+        boolean noBody = status == 204 || status == 304 || "HEAD".equals(ex.getRequestMethod());
+        ex.sendResponseHeaders(status, noBody ? -1 : (body.length == 0 ? -1 : body.length));
+        if (!noBody && body.length > 0) {
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    /**
+     * Arşiv anahtarı: method, host, path, ada göre sıralı query (cache-buster'lar hariç) ve gövde.
+     * Aynı isteğin ?_=1712... gibi her yüklemede değişen parametreleri replay'i bozmaz.
+     */
+    static String normalize(String method, URI target) {
+        List<String> params = new ArrayList<>();
+        String query = target.getRawQuery();
+        if (query != null) {
+            for (String p : query.split("&")) {
+                if (p.isEmpty()) continue;
+                String name = URLDecoder.decode(p.split("=", 2)[0], StandardCharsets.UTF_8);
+                if (!IGNORED_PARAMS.contains(name.toLowerCase(Locale.ROOT))) params.add(p);
+            }
+        }
+        params.sort(null);
+
+        String host = target.getHost() == null ? "" : target.getHost().toLowerCase(Locale.ROOT);
+        int port = target.getPort();
+        String path = target.getRawPath() == null || target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+        return method.toUpperCase(Locale.ROOT) + " " + target.getScheme() + "://" + host
+                + (port == -1 ? "" : ":" + port) + path + (params.isEmpty() ? "" : "?" + String.join("&", params));
+    }
+
+    private static String key(String method, URI target, byte[] body) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update(normalize(method, target).getBytes(StandardCharsets.UTF_8));
+        md.update(body);
+        byte[] hash = md.digest();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 16; i++) sb.append(String.format("%02x", hash[i]));
+        return sb.toString();
+    }
+
+    // Sertifika yalnızca bu koşum için üretilir; tarayıcı acceptInsecureCerts ile açıldığı için host adı önemsizdir
+    private static SSLContext sslContext() throws Exception {
+        Path dir = Files.createTempDirectory("hb-fixture");
+        File store = dir.resolve("fixture.p12").toFile();
+        store.deleteOnExit();
+        dir.toFile().deleteOnExit();
+        char[] pass = "fixture".toCharArray();
+
+        String keytool = Paths.get(System.getProperty("java.home"), "bin", "keytool").toString();
+        Process p = new ProcessBuilder(keytool, "-genkeypair", "-alias", "fixture", "-keyalg", "RSA",
+                "-keysize", "2048", "-validity", "30", "-dname", "CN=hb-fixture",
+                "-storetype", "PKCS12", "-keystore", store.getPath(),
+                "-storepass", new String(pass), "-keypass", new String(pass))
+                .redirectErrorStream(true).start();
+        String out = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        if (!p.waitFor(60, TimeUnit.SECONDS) || p.exitValue() != 0) {
+            throw new RuntimeException("Fixture sertifikası üretilemedi: " + out);
+        }
+
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(store.toPath())) {
+            ks.load(in, pass);
+        }
+        KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        kmf.init(ks, pass);
+        SSLContext ctx = SSLContext.getInstance("TLS");
+        ctx.init(kmf.getKeyManagers(), null, null);
+        return ctx;
+    }
+
+    private static void loadArchive() throws IOException {
+        File index = ARCHIVE_DIR.resolve("index.json").toFile();
+        if (!index.isFile()) {
+            throw new RuntimeException("Fixture arşivi bulunamadı: " + index + " (önce fixture_mode = record ile kaydedin)");
+        }
+        Entry[] entries = om.readValue(index, Entry[].class);
+        for (Entry e : entries) {
+            archive.put(e.key, e);
+        }
+    }
+
+    private static synchronized void saveArchive() {
+        try {
+            Map<String, Entry> sorted = new TreeMap<>(archive);
+            List<Entry> entries = new ArrayList<>();
+            for (Map.Entry<String, Entry> e : sorted.entrySet()) {
+                e.getValue().key = e.getKey();
+                entries.add(e.getValue());
+            }
+            Files.createDirectories(ARCHIVE_DIR);
+            Path tmp = Files.createTempFile(ARCHIVE_DIR, "index", ".tmp");
+            om.writeValue(tmp.toFile(), entries);
+            Files.move(tmp, ARCHIVE_DIR.resolve("index.json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Fixture arşivi yazılamadı: " + ARCHIVE_DIR, e);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try (InputStream is = in) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static Set<String> lowerSet(String csv) {
+        Set<String> out = new LinkedHashSet<>();
+        for (String s : csv.split(",")) {
+            if (!s.trim().isEmpty()) out.add(s.trim().toLowerCase(Locale.ROOT));
+        }
+        return out;
+    }
+
+    public static class Entry {
+        public String key;
+        public String method;
+        public String uri;
+        public int status;
+        public Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        public String body;
+    }
+}
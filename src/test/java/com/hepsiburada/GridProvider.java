@@ -0,0 +1,129 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Selenium Grid üzerinde RemoteWebDriver. Oturum istemeden önce grid'in /status cevabından boş chrome
+ * slotu sayılır; bu JVM'de o an açılmakta olan oturumlar düşülür ve yer yoksa grid_poll_millis
+ * aralıklarla beklenir. Böylece senaryolar grid'in oturum kuyruğunda zaman aşımına düşmek yerine
+ * slot boşalana kadar burada sıraya girer. Bekleme grid_queue_timeout_seconds ile sınırlıdır.
+ * Driver Augmenter'dan geçirilir; CDP komutları (ağ engelleme, cookie temizliği) grid'de de çalışır.
+ */
+public final class GridProvider implements DriverProvider {
+
+    private static final String GRID_URL = EnvConfig.get("grid_url", "http://localhost:4444");
+    private static final long POLL_MILLIS = EnvConfig.getInt("grid_poll_millis", 1000);
+    private static final long QUEUE_TIMEOUT_MILLIS = EnvConfig.getInt("grid_queue_timeout_seconds", 600) * 1000L;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper om = new ObjectMapper();
+
+    // Bu JVM'den istenmiş ama henüz grid'de görünmeyen oturumlar
+    private int creating;
+
+    @Override
+    public WebDriver create(ChromeOptions options) {
+        long deadline = System.currentTimeMillis() + QUEUE_TIMEOUT_MILLIS;
+
+        while (true) {
+            if (reserveSlot()) {
+                try {
+                    RemoteWebDriver driver = new RemoteWebDriver(gridUrl(), options);
+                    return new Augmenter().augment(driver);
+                } catch (SessionNotCreatedException e) {
+                    // Slot başka bir istemciye gitti; süre varsa tekrar sıraya girilir
+                    if (System.currentTimeMillis() > deadline) throw e;
+                } finally {
+                    release();
+                }
+            }
+
+            if (System.currentTimeMillis() > deadline) {
+                throw new RuntimeException("Grid'de " + (QUEUE_TIMEOUT_MILLIS / 1000)
+                        + " sn içinde boş chrome slotu bulunamadı: " + GRID_URL);
+            }
+            sleep();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "grid " + GRID_URL;
+    }
+
+    // /status kilit dışında sorgulanır; kilit altında yalnızca sayaç kontrol edilip artırılır
+    private boolean reserveSlot() {
+        return tryReserve(freeChromeSlots());
+    }
+
+    private synchronized boolean tryReserve(int free) {
+        if (free - creating <= 0) return false;
+        creating++;
+        return true;
+    }
+
+    private synchronized void release() {
+        creating--;
+    }
+
+    /** /status cevabındaki UP node'larda oturumu olmayan chrome slotları. */
+    int freeChromeSlots() {
+        JsonNode value;
+        try {
+            HttpRequest req = HttpRequest.newBuilder(URI.create(GRID_URL + "/status"))
+                    .timeout(Duration.ofSeconds(5)).GET().build();
+            HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+            value = om.readTree(res.body()).path("value");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (Exception e) {
+            // Grid henüz ayağa kalkmamış olabilir; boş slot yok sayılır ve beklenir
+            return 0;
+        }
+
+        if (!value.path("ready").asBoolean(false)) return 0;
+
+        int free = 0;
+        for (JsonNode node : value.path("nodes")) {
+            if (!"UP".equalsIgnoreCase(node.path("availability").asText())) continue;
+            for (JsonNode slot : node.path("slots")) {
+                boolean busy = !slot.path("session").isMissingNode() && !slot.path("session").isNull();
+                String browser = slot.path("stereotype").path("browserName").asText("");
+                if (!busy && "chrome".equalsIgnoreCase(browser)) free++;
+            }
+        }
+        return free;
+    }
+
+    private static URL gridUrl() {
+        try {
+            return new URL(GRID_URL);
+        } catch (MalformedURLException e) {
+            throw new RuntimeException("Geçersiz grid_url: " + GRID_URL, e);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.thoughtworks.gauge.Gauge;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sepet akışını (ana sayfa → arama → ürün seçimi → sepete ekleme → sepetten çıkarma) load_users kadar
+ * sanal kullanıcıyla eş zamanlı ve tekrar tekrar çalıştırır. Her sanal kullanıcı kendi thread'inde
+ * havuzdan kendi headless tarayıcısını alır.
+ * Kullanıcılar load_ramp_up_seconds boyunca eşit aralıklarla başlar, load_hold_seconds boyunca hepsi
+ * çalışır, load_ramp_down_seconds boyunca son başlayan ilk olmak üzere tek tek durur; durma zamanı gelen
+ * kullanıcı elindeki turu bitirir.
+ * Koşu sırasında load_report_interval_seconds aralıklarla aktif kullanıcı, tur/sn ve hata oranı konsola
+ * yazılır. Sonunda adım başına sayım, hata, yüzdelikler ve gecikme histogramı rapora ve
+ * <gauge_reports_dir>/load/ altındaki JSON'a yazılır. Hata oranı load_max_error_percent'i aşarsa adım düşer.
+ */
+public final class LoadRunner {
+
+    private static final int USERS = Math.max(1, EnvConfig.getInt("load_users", 4));
+    private static final long RAMP_UP_MILLIS = EnvConfig.getInt("load_ramp_up_seconds", 30) * 1000L;
+    private static final long HOLD_MILLIS = EnvConfig.getInt("load_hold_seconds", 120) * 1000L;
+    private static final long RAMP_DOWN_MILLIS = EnvConfig.getInt("load_ramp_down_seconds", 15) * 1000L;
+    private static final long THINK_MILLIS = EnvConfig.getInt("load_think_millis", 1000);
+    private static final long REPORT_MILLIS = Math.max(1, EnvConfig.getInt("load_report_interval_seconds", 5)) * 1000L;
+    private static final int MAX_ERROR_PERCENT = EnvConfig.getInt("load_max_error_percent", 5);
+    private static final String CHECKPOINT = EnvConfig.get("load_checkpoint", "");
+    private static final String LOAD_DIR = EnvConfig.get("gauge_reports_dir", "reports") + "/load";
+
+    // Üst üste bu kadar tur hatalı biten kullanıcının tarayıcısı bozulmuş sayılır ve kullanıcı durur
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+
+    /** Histogram kova üst sınırları (ms); son kova bunların üstü. */
+    private static final long[] BUCKETS_MS = {100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private static final String SESSION = "oturum-acilis";
+    private static final String ITERATION = "tur";
+
+    private LoadRunner() {
+    }
+
+    interface Action {
+        void run(StepImplementation steps) throws Exception;
+    }
+
+    /** Bir adımın süreleri ve hataları. */
+    static final class StepStats {
+        final List<Long> millis = new ArrayList<>();
+        final long[] histogram = new long[BUCKETS_MS.length + 1];
+        final Map<String, Integer> errors = new TreeMap<>();
+        long failed;
+
+        synchronized void record(long ms, String error) {
+            millis.add(ms);
+            int i = 0;
+            while (i < BUCKETS_MS.length && ms > BUCKETS_MS[i]) i++;
+            histogram[i]++;
+            if (error != null) {
+                failed++;
+                errors.merge(error, 1, Integer::sum);
+            }
+        }
+
+        synchronized long count() {
+            return millis.size();
+        }
+
+        synchronized long failed() {
+            return failed;
+        }
+    }
+
+    private static Map<String, Action> flow() {
+        Map<String, Action> flow = new LinkedHashMap<>();
+        flow.put("ana-sayfa", StepImplementation::hbAnaSayfaAcilir);
+        flow.put("arama", StepImplementation::hbUrunAra);
+        flow.put("urun-secimi", s -> s.clickProductRowColFromValues("TargetRow", "TargetCol"));
+        flow.put("sepete-ekleme", s -> {
+            s.waitUntilVisible("btn_AddToCart");
+            s.clickLikeHuman("btn_AddToCart");
+            s.waitUntilVisible("btn_SepeteGit");
+        });
+        flow.put("sepetten-cikarma", s -> {
+            s.clickLikeHuman("btn_SepeteGit");
+            s.waitUntilVisible("btn_RemoveSingleItem");
+            s.clickLikeHuman("btn_RemoveSingleItem");
+        });
+        return flow;
+    }
+
+    public static void run(StepImplementation steps) {
+        if (!DriverFactory.headless()) {
+            throw new RuntimeException("Yük modu headless tarayıcı ister: browser_mode = headless verilmeli");
+        }
+        if (USERS > DriverPool.size()) {
+            throw new RuntimeException("load_users (" + USERS + ") driver_pool_size'dan ("
+                    + DriverPool.size() + ") büyük olamaz");
+        }
+
+        // Çağıran senaryonun tarayıcısı havuza geri verilir; tüm slotlar sanal kullanıcılarındır
+        DriverPool.release();
+
+        Map<String, Action> flow = flow();
+        Map<String, StepStats> stats = new LinkedHashMap<>();
+        stats.put(SESSION, new StepStats());
+        for (String name : flow.keySet()) stats.put(name, new StepStats());
+        stats.put(ITERATION, new StepStats());
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger stopped = new AtomicInteger();
+        long t0 = System.currentTimeMillis();
+        long holdEnd = t0 + RAMP_UP_MILLIS + HOLD_MILLIS;
+
+        // Java 11'de sanal thread yok; tarayıcı başına bir platform thread'i yeterince hafif
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(USERS, r -> {
+            Thread t = new Thread(r, "vu-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < USERS; i++) {
+            long startAt = t0 + RAMP_UP_MILLIS * i / USERS;
+            long stopAt = holdEnd + RAMP_DOWN_MILLIS * (USERS - i) / USERS;
+            executor.submit(() -> virtualUser(steps, flow, stats, startAt, stopAt, active, stopped));
+        }
+        executor.shutdown();
+
+        List<Map<String, Object>> timeline = new ArrayList<>();
+        StepStats iterations = stats.get(ITERATION);
+        long lastCount = 0;
+        long lastFailed = 0;
+        try {
+            boolean done = false;
+            while (!done) {
+                done = executor.awaitTermination(REPORT_MILLIS, TimeUnit.MILLISECONDS);
+
+                long count = iterations.count();
+                long failed = iterations.failed();
+                long elapsed = System.currentTimeMillis() - t0;
+                double perSecond = (count - lastCount) * 1000.0 / REPORT_MILLIS;
+                double errorPercent = count == lastCount ? 0 : (failed - lastFailed) * 100.0 / (count - lastCount);
+
+                Map<String, Object> point = new LinkedHashMap<>();
+                point.put("elapsedMs", elapsed);
+                point.put("activeUsers", active.get());
+                point.put("iterations", count);
+                point.put("failed", failed);
+                point.put("iterationsPerSecond", round(perSecond));
+                point.put("errorPercent", round(errorPercent));
+                timeline.add(point);
+
+                System.out.printf(Locale.ROOT, "[yük] %4d sn | aktif %d/%d | %.2f tur/sn | hata %%%.1f | toplam %d tur, %d hatalı%n",
+                        elapsed / 1000, active.get(), USERS, perSecond, errorPercent, count, failed);
+
+                lastCount = count;
+                lastFailed = failed;
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        long elapsed = System.currentTimeMillis() - t0;
+        File file = writeReport(stats, timeline, elapsed, stopped.get());
+        for (String line : summaryLines(stats, elapsed, stopped.get())) {
+            Gauge.writeMessage(line);
+        }
+        Gauge.writeMessage("Yük koşusu sonuçları: " + file.getAbsolutePath());
+
+        long total = iterations.count();
+        long failed = iterations.failed();
+        if (total == 0) {
+            throw new AssertionError("Yük koşusunda hiçbir tur tamamlanamadı");
+        }
+        if (failed * 100.0 / total > MAX_ERROR_PERCENT) {
+            throw new AssertionError(String.format(Locale.ROOT, "Yük koşusunda hata oranı %%%.1f (%d/%d tur), sınır %%%d",
+                    failed * 100.0 / total, failed, total, MAX_ERROR_PERCENT));
+        }
+    }
+
+    private static void virtualUser(StepImplementation steps, Map<String, Action> flow, Map<String, StepStats> stats,
+                                    long startAt, long stopAt, AtomicInteger active, AtomicInteger stopped) {
+        try {
+            sleepUntil(startAt);
+        } catch (InterruptedException e) {
+            return;
+        }
+
+        active.incrementAndGet();
+        try {
+            if (!timed(stats.get(SESSION), s -> {
+                DriverPool.lease();
+                if (!CHECKPOINT.isEmpty()) s.startFromCheckpoint(CHECKPOINT);
+            }, steps)) {
+                stopped.incrementAndGet();
+                return;
+            }
+
+            int consecutiveFailures = 0;
+            while (System.currentTimeMillis() < stopAt) {
+                long t0 = System.nanoTime();
+                String error = null;
+                for (Map.Entry<String, Action> step : flow.entrySet()) {
+                    if (!timed(stats.get(step.getKey()), step.getValue(), steps)) {
+                        error = step.getKey();
+                        break;
+                    }
+                }
+                stats.get(ITERATION).record(millisSince(t0), error);
+
+                consecutiveFailures = error == null ? 0 : consecutiveFailures + 1;
+                if (consecutiveFailures >= MAX_CONSECUTIVE_FAILURES) {
+                    stopped.incrementAndGet();
+                    return;
+                }
+
+                long remaining = stopAt - System.currentTimeMillis();
+                if (remaining > 0) Thread.sleep(Math.min(THINK_MILLIS, remaining));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+            DriverPool.release();
+        }
+    }
+
+    // Hata tipi adımın hata tablosuna yazılır; tur bir sonraki turun ana sayfa adımıyla toparlanır
+    private static boolean timed(StepStats stats, Action action, StepImplementation steps) {
+        long t0 = System.nanoTime();
+        try {
+            action.run(steps);
+            stats.record(millisSince(t0), null);
+            return true;
+        } catch (Exception | AssertionError e) {
+            stats.record(millisSince(t0), e.getClass().getSimpleName());
+            return false;
+        }
+    }
+
+    private static File writeReport(Map<String, StepStats> stats, List<Map<String, Object>> timeline,
+                                    long elapsed, int stoppedUsers) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", USERS);
+        config.put("rampUpSeconds", RAMP_UP_MILLIS / 1000);
+        config.put("holdSeconds", HOLD_MILLIS / 1000);
+        config.put("rampDownSeconds", RAMP_DOWN_MILLIS / 1000);
+        config.put("thinkMillis", THINK_MILLIS);
+        config.put("checkpoint", CHECKPOINT);
+        config.put("driverProvider", EnvConfig.get("driver_provider", "local"));
+        config.put("fixtureMode", EnvConfig.get("fixture_mode", "off"));
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (Map.Entry<String, StepStats> e : stats.entrySet()) {
+            StepStats s = e.getValue();
+            synchronized (s) {
+                List<Long> sorted = new ArrayList<>(s.millis);
+                Collections.sort(sorted);
+
+                Map<String, Long> histogram = new LinkedHashMap<>();
+                for (int i = 0; i < s.histogram.length; i++) {
+                    String label = i < BUCKETS_MS.length ? "<=" + BUCKETS_MS[i] : ">" + BUCKETS_MS[BUCKETS_MS.length - 1];
+                    histogram.put(label, s.histogram[i]);
+                }
+
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("step", e.getKey());
+                m.put("count", sorted.size());
+                m.put("failed", s.failed);
+                m.put("perSecond", round(sorted.size() * 1000.0 / Math.max(1, elapsed)));
+                m.put("p50Ms", percentile(sorted, 50));
+                m.put("p95Ms", percentile(sorted, 95));
+                m.put("p99Ms", percentile(sorted, 99));
+                m.put("maxMs", sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+                m.put("histogramMs", histogram);
+                m.put("errors", new TreeMap<>(s.errors));
+                steps.add(m);
+            }
+        }
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("generatedAt", System.currentTimeMillis());
+        root.put("elapsedMs", elapsed);
+        root.put("stoppedUsers", stoppedUsers);
+        root.put("config", config);
+        root.put("steps", steps);
+        root.put("timeline", timeline);
+
+        File file = new File(LOAD_DIR, "load-" + System.currentTimeMillis() + ".json");
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, root);
+        } catch (Exception e) {
+            throw new RuntimeException("Yük raporu yazılamadı: " + file, e);
+        }
+        return file;
+    }
+
+    private static List<String> summaryLines(Map<String, StepStats> stats, long elapsed, int stoppedUsers) {
+        List<String> lines = new ArrayList<>();
+        StepStats iterations = stats.get(ITERATION);
+        lines.add(String.format(Locale.ROOT, "Yük: %d kullanıcı, %d sn, %d tur (%.2f tur/sn), %d hatalı, %d kullanıcı erken durdu",
+                USERS, elapsed / 1000, iterations.count(), iterations.count() * 1000.0 / Math.max(1, elapsed),
+                iterations.failed(), stoppedUsers));
+
+        for (Map.Entry<String, StepStats> e : stats.entrySet()) {
+            StepStats s = e.getValue();
+            synchronized (s) {
+                if (s.millis.isEmpty()) continue;
+                List<Long> sorted = new ArrayList<>(s.millis);
+                Collections.sort(sorted);
+
+                StringBuilder histogram = new StringBuilder();
+                for (int i = 0; i < s.histogram.length; i++) {
+                    if (s.histogram[i] == 0) continue;
+                    if (histogram.length() > 0) histogram.append(' ');
+                    histogram.append(i < BUCKETS_MS.length ? "≤" + BUCKETS_MS[i] : ">" + BUCKETS_MS[BUCKETS_MS.length - 1])
+                            .append(':').append(s.histogram[i]);
+                }
+
+                lines.add(String.format(Locale.ROOT, "%s: %d (hata %d) | p50 %d ms | p95 %d ms | p99 %d ms | max %d ms | %s%s",
+                        e.getKey(), sorted.size(), s.failed, percentile(sorted, 50), percentile(sorted, 95),
+                        percentile(sorted, 99), sorted.get(sorted.size() - 1), histogram,
+                        s.errors.isEmpty() ? "" : " | " + s.errors));
+            }
+        }
+        return lines;
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) return 0;
+        int idx = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+
+    private static void sleepUntil(long at) throws InterruptedException {
+        long wait = at - System.currentTimeMillis();
+        if (wait > 0) Thread.sleep(wait);
+    }
+
+    private static long millisSince(long t0) {
+        return (System.nanoTime() - t0) / 1_000_000;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+}
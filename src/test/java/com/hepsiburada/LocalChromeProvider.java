@@ -0,0 +1,19 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/** JVM ile aynı makinede ChromeDriver. */
+public final class LocalChromeProvider implements DriverProvider {
+
+    @Override
+    public WebDriver create(ChromeOptions options) {
+        return new ChromeDriver(options);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+}
@@ -0,0 +1,156 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * elements.json'da fallbacks tanımlanmış key'lerin By'ı. Her findElements çağrısında alternatifler
+ * LocatorStats'a göre sıralanır ve ilk eşleşen alternatifin sonucu döner. WebDriverWait her yoklamada
+ * zincirin tamamını denediği için asıl locator bozulduğunda yedek ilk yoklamada bulunur; 15 sn
+ * beklenmez. Alternatiflerin hepsi css/xpath/id ise zincir tek script çağrısında denenir.
+ * İstatistik yalnızca bir alternatif eşleştiğinde yazılır (eşleşen isabet, ondan önce denenenler
+ * ıska); element henüz sayfada yokken yapılan yoklamalar sıralamayı bozmaz.
+ */
+public class LocatorChain extends By {
+
+    private static final String CHAIN_SCRIPT =
+            "const alts = arguments[0], out = {index: -1, elements: [], ms: []};" +
+            "for (let i = 0; i < alts.length; i++) {" +
+            "  const t0 = performance.now(), a = alts[i];" +
+            "  let els;" +
+            "  if (a.kind === 'id') { const e = document.getElementById(a.sel); els = e ? [e] : []; }" +
+            "  else if (a.kind === 'xpath') {" +
+            "    const r = document.evaluate(a.sel, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    els = []; for (let j = 0; j < r.snapshotLength; j++) els.push(r.snapshotItem(j));" +
+            "  } else { els = Array.from(document.querySelectorAll(a.sel)); }" +
+            "  out.ms.push(performance.now() - t0);" +
+            "  if (els.length) { out.index = i; out.elements = els; break; }" +
+            "}" +
+            "return out;";
+
+    /** Zincirin bir halkası. */
+    public static final class Alternative {
+        /** type:value; istatistik dosyasındaki anahtar */
+        public final String id;
+        public final By by;
+        /** Script ile çözülemeyen type'larda null */
+        public final LocatorHelper.ScriptLocator script;
+        final int declared;
+
+        Alternative(String id, By by, LocatorHelper.ScriptLocator script, int declared) {
+            this.id = id;
+            this.by = by;
+            this.script = script;
+            this.declared = declared;
+        }
+    }
+
+    private final String key;
+    private final List<Alternative> alternatives;
+    private final boolean scriptable;
+
+    LocatorChain(String key, List<Alternative> alternatives) {
+        this.key = key;
+        this.alternatives = List.copyOf(alternatives);
+        this.scriptable = alternatives.stream().allMatch(a -> a.script != null);
+
+        List<String> ids = new ArrayList<>();
+        for (Alternative a : alternatives) ids.add(a.id);
+        LocatorStats.register(key, ids);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /** elements.json'daki sıra. */
+    public List<Alternative> declared() {
+        return alternatives;
+    }
+
+    /** İsabet oranı yüksek, sonra ortalama süresi düşük olan önce; eşitlikte elements.json sırası. */
+    public List<Alternative> ranked() {
+        List<Alternative> list = new ArrayList<>(alternatives);
+        list.sort(Comparator
+                .comparingDouble((Alternative a) -> -LocatorStats.get(key, a.id).hitRate())
+                .thenComparingDouble(a -> LocatorStats.get(key, a.id).avgMillis())
+                .thenComparingInt(a -> a.declared));
+        return list;
+    }
+
+    /** ranked() sırasıyla denenen alternatiflerden hitIndex'teki eşleşti; öncekiler ıska sayılır. */
+    public void record(List<Alternative> ranked, int hitIndex, double hitMillis) {
+        if (hitIndex < 0) return;
+        for (int i = 0; i < hitIndex; i++) {
+            LocatorStats.get(key, ranked.get(i).id).record(false, 0);
+        }
+        LocatorStats.get(key, ranked.get(hitIndex).id).record(true, hitMillis);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        List<Alternative> ranked = ranked();
+
+        if (scriptable && context instanceof WebDriver && context instanceof JavascriptExecutor) {
+            return findWithScript(decorated((WebDriver) context), ranked);
+        }
+
+        for (int i = 0; i < ranked.size(); i++) {
+            long t0 = System.nanoTime();
+            List<WebElement> found = ranked.get(i).by.findElements(context);
+            if (!found.isEmpty()) {
+                record(ranked, i, (System.nanoTime() - t0) / 1_000_000.0);
+                return found;
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * EventFiringDecorator findElements'i asıl driver'a devreder; script thread'in dekore driver'ı üzerinden
+     * çalıştırılır ki CommandListener zincir aramalarını da saysın.
+     */
+    private static JavascriptExecutor decorated(WebDriver context) {
+        DriverSession session = DriverPool.peek();
+        if (session != null && session.driver instanceof WrapsDriver
+                && ((WrapsDriver) session.driver).getWrappedDriver() == context) {
+            return (JavascriptExecutor) session.driver;
+        }
+        return (JavascriptExecutor) context;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WebElement> findWithScript(JavascriptExecutor js, List<Alternative> ranked) {
+        List<Map<String, String>> args = new ArrayList<>(ranked.size());
+        for (Alternative a : ranked) {
+            args.add(Map.of("kind", a.script.kind, "sel", a.script.value));
+        }
+
+        Map<String, Object> res = (Map<String, Object>) js.executeScript(CHAIN_SCRIPT, args);
+        int index = ((Number) res.get("index")).intValue();
+        if (index < 0) return List.of();
+
+        List<Number> ms = (List<Number>) res.get("ms");
+        record(ranked, index, ms.get(index).doubleValue());
+        return new ArrayList<>((List<WebElement>) res.get("elements"));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("By.chain(").append(key).append(": ");
+        for (int i = 0; i < alternatives.size(); i++) {
+            if (i > 0) sb.append(" | ");
+            sb.append(alternatives.get(i).id);
+        }
+        return sb.append(')').toString();
+    }
+}
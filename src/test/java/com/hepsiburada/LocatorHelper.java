@@ -4,32 +4,150 @@ package com.hepsiburada;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.openqa.selenium.By;
 
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * elements.json'ın derlenmiş hali. Dosya JVM başına bir kez okunur, her key için By nesnesi
+ * önceden oluşturulur ve değiştirilemez bir map'te tutulur; getBy tek bir map okumasıdır.
+ * Tekrarlanan key, bilinmeyen type ve bozuk CSS/XPath yükleme anında hata verir.
+ * Bir key'e fallbacks listesi eklenirse By yerine alternatifleri sıralayarak deneyen LocatorChain döner.
+ */
 public class LocatorHelper {
 
-    private final Map<String, LocatorDef> elements;
+    private static final Map<String, LocatorHelper> registries = new ConcurrentHashMap<>();
+
+    private final Map<String, By> locators;
+    private final Map<String, ScriptLocator> scriptLocators;
 
     public LocatorHelper(String elementsJsonPath) {
-        this.elements = loadElements(elementsJsonPath);
+        LocatorDef[] defs = loadElements(elementsJsonPath);
+        this.locators = compile(defs, elementsJsonPath);
+        this.scriptLocators = compileScriptLocators(defs);
+    }
+
+    /** Aynı dosya için paylaşılan registry; paralel thread'ler aynı örneği kullanır. */
+    public static LocatorHelper shared(String elementsJsonPath) {
+        return registries.computeIfAbsent(elementsJsonPath, LocatorHelper::new);
     }
 
     public By getBy(String elementKey) {
-        LocatorDef def = elements.get(elementKey);
-        if (def == null) {
+        By by = locators.get(elementKey);
+        if (by == null) {
             throw new RuntimeException("elements.json içinde key bulunamadı: " + elementKey);
         }
+        return by;
+    }
+
+    /**
+     * Tarayıcı içinde çalışan script'lerin sırayla deneyeceği locator'lar (css, xpath veya id).
+     * Yedekli key'lerde tüm alternatifler LocatorStats sırasıyla gelir; script eşleşen sırayı
+     * {@link ScriptTargets#record} ile bildirir. Script ile çözülemeyen bir locator varsa null döner;
+     * çağıran WebDriver tarafındaki By (LocatorChain) ile devam eder.
+     */
+    public ScriptTargets getScriptTargets(String elementKey) {
+        By by = getBy(elementKey);
+        if (by instanceof LocatorChain) {
+            LocatorChain chain = (LocatorChain) by;
+            List<LocatorChain.Alternative> ranked = chain.ranked();
+            List<ScriptLocator> locs = new ArrayList<>(ranked.size());
+            for (LocatorChain.Alternative a : ranked) {
+                if (a.script == null) return null;
+                locs.add(a.script);
+            }
+            return new ScriptTargets(elementKey, locs, chain, ranked);
+        }
+        ScriptLocator loc = scriptLocators.get(elementKey);
+        return loc == null ? null : new ScriptTargets(elementKey, List.of(loc), null, null);
+    }
+
+    /** fallbacks tanımlı key için zincir, diğerleri için null. */
+    public LocatorChain getChain(String elementKey) {
+        By by = getBy(elementKey);
+        return by instanceof LocatorChain ? (LocatorChain) by : null;
+    }
+
+    private static Map<String, ScriptLocator> compileScriptLocators(LocatorDef[] defs) {
+        Map<String, ScriptLocator> map = new HashMap<>();
+        for (LocatorDef d : defs) {
+            ScriptLocator loc = toScriptLocator(d);
+            if (loc != null) map.put(d.key, loc);
+        }
+        return Map.copyOf(map);
+    }
+
+    private static ScriptLocator toScriptLocator(LocatorDef d) {
+        String type = d.type.toLowerCase(Locale.ROOT);
+        if (type.equals("css") || type.equals("cssselector")) return new ScriptLocator("css", d.value);
+        if (type.equals("xpath")) return new ScriptLocator("xpath", d.value);
+        if (type.equals("id")) return new ScriptLocator("id", d.value);
+        return null;
+    }
+
+    private static Map<String, By> compile(LocatorDef[] defs, String path) {
+        Map<String, By> map = new HashMap<>();
+        for (LocatorDef d : defs) {
+            if (d.key == null || d.key.trim().isEmpty()) {
+                throw new RuntimeException("elements.json içinde key'i boş bir tanım var: " + path);
+            }
+            if (map.containsKey(d.key)) {
+                throw new RuntimeException("elements.json içinde tekrarlanan key: " + d.key);
+            }
+            map.put(d.key, d.fallbacks == null || d.fallbacks.length == 0 ? toBy(d) : toChain(d));
+        }
+        return Map.copyOf(map);
+    }
+
+    // Asıl locator ve fallbacks sırasıyla; her alternatif tek başına aynı kontrollerden geçer
+    private static LocatorChain toChain(LocatorDef def) {
+        List<LocatorChain.Alternative> alternatives = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+
+        List<LocatorDef> all = new ArrayList<>();
+        all.add(def);
+        for (int i = 0; i < def.fallbacks.length; i++) {
+            LocatorDef f = def.fallbacks[i];
+            LocatorDef alt = new LocatorDef();
+            alt.key = def.key + " (fallback " + (i + 1) + ")";
+            alt.type = f.type;
+            alt.value = f.value;
+            all.add(alt);
+        }
+
+        for (LocatorDef d : all) {
+            By by = toBy(d);
+            String id = d.type.toLowerCase(Locale.ROOT) + ":" + d.value;
+            if (!ids.add(id)) {
+                throw new RuntimeException("elements.json içinde tekrarlanan fallback: " + def.key + " = " + id);
+            }
+            alternatives.add(new LocatorChain.Alternative(id, by, toScriptLocator(d), alternatives.size()));
+        }
+        return new LocatorChain(def.key, alternatives);
+    }
+
+    private static By toBy(LocatorDef def) {
+        if (def.type == null || def.value == null || def.value.trim().isEmpty()) {
+            throw new RuntimeException("Locator type/value eksik: " + def.key);
+        }
 
         String type = def.type.toLowerCase(Locale.ROOT);
 
         switch (type) {
             case "css":
             case "cssselector":
+                validateCss(def);
                 return By.cssSelector(def.value);
             case "xpath":
+                validateXPath(def);
                 return By.xpath(def.value);
             case "id":
                 return By.id(def.value);
@@ -44,29 +162,85 @@ public class LocatorHelper {
             case "partiallinktext":
                 return By.partialLinkText(def.value);
             default:
-                throw new RuntimeException("Desteklenmeyen locator type: " + def.type);
+                throw new RuntimeException("Desteklenmeyen locator type: " + def.type + " (" + def.key + ")");
         }
     }
 
-    private Map<String, LocatorDef> loadElements(String path) {
+    private static void validateXPath(LocatorDef def) {
         try {
-            ObjectMapper om = new ObjectMapper();
-            LocatorDef[] arr = om.readValue(new File(path), LocatorDef[].class);
+            XPathFactory.newInstance().newXPath().compile(def.value);
+        } catch (XPathExpressionException e) {
+            throw new RuntimeException("Geçersiz XPath: " + def.key + " = " + def.value, e);
+        }
+    }
 
-            Map<String, LocatorDef> map = new HashMap<>();
-            for (LocatorDef d : arr) {
-                map.put(d.key, d);
-            }
-            return map;
+    private static void validateCss(LocatorDef def) {
+        try {
+            CssSelector.validate(def.value);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Geçersiz CSS selector: " + def.key + " = " + def.value + " (" + e.getMessage() + ")", e);
+        }
+    }
 
+    private static LocatorDef[] loadElements(String path) {
+        try {
+            ObjectMapper om = new ObjectMapper();
+            return om.readValue(new File(path), LocatorDef[].class);
         } catch (Exception e) {
             throw new RuntimeException("elements.json okunamadı: " + path, e);
         }
     }
 
+    public static final class ScriptLocator {
+        public final String kind;
+        public final String value;
+
+        ScriptLocator(String kind, String value) {
+            this.kind = kind;
+            this.value = value;
+        }
+    }
+
+    /** Bir key'in script'e verilen locator listesi ve zincir istatistiğinin yazılacağı yer. */
+    public static final class ScriptTargets {
+        public final String key;
+        public final List<ScriptLocator> locators;
+        private final LocatorChain chain;
+        private final List<LocatorChain.Alternative> ranked;
+
+        ScriptTargets(String key, List<ScriptLocator> locators, LocatorChain chain,
+                      List<LocatorChain.Alternative> ranked) {
+            this.key = key;
+            this.locators = locators;
+            this.chain = chain;
+            this.ranked = ranked;
+        }
+
+        /** Script argümanı: [{kind, sel}, ...] */
+        public List<Map<String, String>> toArg() {
+            List<Map<String, String>> out = new ArrayList<>(locators.size());
+            for (ScriptLocator l : locators) out.add(Map.of("kind", l.kind, "sel", l.value));
+            return out;
+        }
+
+        /** Eşleşen sıra (yoksa -1); zincirse eşleşen isabet, öncekiler ıska olarak yazılır. */
+        public void record(int hitIndex, double millis) {
+            if (chain != null) chain.record(ranked, hitIndex, millis);
+        }
+
+        public boolean allKind(String kind) {
+            for (ScriptLocator l : locators) {
+                if (!kind.equals(l.kind)) return false;
+            }
+            return true;
+        }
+    }
+
     public static class LocatorDef {
         public String key;
         public String type;
         public String value;
+        /** İsteğe bağlı yedek locator'lar (yalnızca type ve value) */
+        public LocatorDef[] fallbacks;
     }
 }
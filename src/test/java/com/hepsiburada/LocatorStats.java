@@ -0,0 +1,157 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Yedekli locator zincirlerinde her alternatifin eşleşme sayısı ve süresi.
+ * İstatistikler koşular arasında metrics_dir/locator-stats.json dosyasında birikir; LocatorChain
+ * alternatifleri bu dosyadaki isabet oranı ve ortalama süreye göre sıralar. Dosya silinirse
+ * elements.json'daki sıraya dönülür.
+ */
+public final class LocatorStats {
+
+    private static final String METRICS_DIR = EnvConfig.get("metrics_dir", "metrics");
+    private static final File FILE = new File(METRICS_DIR, "locator-stats.json");
+
+    /** elementKey → alternatif id (type:value) → istatistik */
+    private static final Map<String, Map<String, Stat>> stats = load();
+    /** elementKey → alternatif id'leri, elements.json sırasıyla */
+    private static final Map<String, List<String>> chains = new ConcurrentHashMap<>();
+
+    private LocatorStats() {
+    }
+
+    /** Bir alternatifin birikmiş ve bu koşudaki sayımları. */
+    static final class Stat {
+        long attempts;
+        long hits;
+        double totalMillis;
+        long runAttempts;
+        long runHits;
+
+        synchronized void record(boolean hit, double millis) {
+            attempts++;
+            runAttempts++;
+            if (hit) {
+                hits++;
+                runHits++;
+                totalMillis += millis;
+            }
+        }
+
+        /** Az örnekte uç değer vermesin diye (hits+1)/(attempts+2) */
+        synchronized double hitRate() {
+            return (hits + 1.0) / (attempts + 2.0);
+        }
+
+        synchronized double avgMillis() {
+            return hits == 0 ? 0 : totalMillis / hits;
+        }
+    }
+
+    static void register(String elementKey, List<String> declaredIds) {
+        chains.put(elementKey, List.copyOf(declaredIds));
+    }
+
+    static Stat get(String elementKey, String alternativeId) {
+        return stats.computeIfAbsent(elementKey, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(alternativeId, k -> new Stat());
+    }
+
+    /** Birikmiş istatistikleri yazar; bu koşunun sayımları run* alanlarındadır. */
+    public static File write() {
+        if (stats.isEmpty()) return null;
+
+        Map<String, Object> root = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Stat>> e : stats.entrySet()) {
+            Map<String, Object> alts = new TreeMap<>();
+            for (Map.Entry<String, Stat> a : e.getValue().entrySet()) {
+                Stat s = a.getValue();
+                synchronized (s) {
+                    Map<String, Object> m = new LinkedHashMap<>();
+                    m.put("attempts", s.attempts);
+                    m.put("hits", s.hits);
+                    m.put("totalMillis", Math.round(s.totalMillis * 10) / 10.0);
+                    m.put("runAttempts", s.runAttempts);
+                    m.put("runHits", s.runHits);
+                    alts.put(a.getKey(), m);
+                }
+            }
+            root.put(e.getKey(), alts);
+        }
+
+        try {
+            FILE.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(FILE, root);
+        } catch (Exception e) {
+            throw new RuntimeException("locator-stats.json yazılamadı: " + FILE, e);
+        }
+        return FILE;
+    }
+
+    /**
+     * Bu koşuda kullanılan zincirler için alternatif başına eşleşme özeti.
+     * Birinci sıradaki (elements.json'daki asıl) locator dışında bir alternatif eşleştiyse satır işaretlenir.
+     */
+    public static List<String> summaryLines() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : new TreeMap<>(chains).entrySet()) {
+            Map<String, Stat> alts = stats.get(e.getKey());
+            if (alts == null) continue;
+
+            StringBuilder sb = new StringBuilder();
+            boolean used = false;
+            boolean fallbackHit = false;
+            List<String> ids = e.getValue();
+            for (int i = 0; i < ids.size(); i++) {
+                Stat s = alts.get(ids.get(i));
+                if (s == null) continue;
+                synchronized (s) {
+                    if (s.runAttempts == 0) continue;
+                    used = true;
+                    if (i > 0 && s.runHits > 0) fallbackHit = true;
+                    sb.append(String.format(" | #%d %s %d/%d (ort %.0f ms)",
+                            i, ids.get(i), s.runHits, s.runAttempts, s.avgMillis()));
+                }
+            }
+            if (used) {
+                lines.add((fallbackHit ? "Yedek locator kullanıldı: " : "Locator: ") + e.getKey() + sb);
+            }
+        }
+        return lines;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Stat>> load() {
+        Map<String, Map<String, Stat>> out = new ConcurrentHashMap<>();
+        if (!FILE.isFile()) return out;
+
+        try {
+            Map<String, Map<String, Map<String, Number>>> root = new ObjectMapper().readValue(FILE, Map.class);
+            for (Map.Entry<String, Map<String, Map<String, Number>>> e : root.entrySet()) {
+                Map<String, Stat> alts = new ConcurrentHashMap<>();
+                for (Map.Entry<String, Map<String, Number>> a : e.getValue().entrySet()) {
+                    Stat s = new Stat();
+                    s.attempts = a.getValue().getOrDefault("attempts", 0).longValue();
+                    s.hits = a.getValue().getOrDefault("hits", 0).longValue();
+                    s.totalMillis = a.getValue().getOrDefault("totalMillis", 0).doubleValue();
+                    alts.put(a.getKey(), s);
+                }
+                out.put(e.getKey(), alts);
+            }
+        } catch (Exception e) {
+            // Bozuk istatistik dosyası koşuyu durdurmamalı; sıralama elements.json'a döner
+            out.clear();
+        }
+        return out;
+    }
+}
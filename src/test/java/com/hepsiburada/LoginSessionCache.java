@@ -0,0 +1,189 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Başarılı login sonrası cookie ve localStorage bilgisini diske yazar; sonraki koşumlar ve
+ * paralel worker'lar aynı hesap için bu durumu geri yükleyerek insan gibi login akışını atlar.
+ * Kayıtlar LoginEmail değerine göre tutulur ve login_session_ttl_minutes kadar geçerlidir.
+ */
+public final class LoginSessionCache {
+
+    private static final boolean ENABLED = EnvConfig.getBoolean("login_session_cache", true);
+    private static final String CACHE_DIR = EnvConfig.get("login_session_cache_dir", "target/session-cache");
+    private static final long TTL_MILLIS = EnvConfig.getInt("login_session_ttl_minutes", 60) * 60_000L;
+
+    private static final String READ_STORAGE_SCRIPT =
+            "const o = {};" +
+            "for (let i = 0; i < window.localStorage.length; i++) {" +
+            "  const k = window.localStorage.key(i);" +
+            "  o[k] = window.localStorage.getItem(k);" +
+            "}" +
+            "return o;";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+            "const o = arguments[0];" +
+            "for (const k in o) { window.localStorage.setItem(k, o[k]); }";
+
+    private static final ObjectMapper om = new ObjectMapper();
+
+    private LoginSessionCache() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /** Login doğrulandıktan sonra çağrılır. Hata olursa sessizce geçilir; cache zorunlu değildir. */
+    @SuppressWarnings("unchecked")
+    public static void save(WebDriver driver, String email) {
+        if (!ENABLED) return;
+
+        try {
+            SessionState state = new SessionState();
+            state.savedAt = System.currentTimeMillis();
+
+            state.cookies.addAll(readCookies(driver));
+
+            Object storage = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+            if (storage instanceof Map) {
+                for (Map.Entry<String, Object> e : ((Map<String, Object>) storage).entrySet()) {
+                    if (e.getValue() != null) state.localStorage.put(e.getKey(), e.getValue().toString());
+                }
+            }
+
+            Path file = fileFor(email);
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "session", ".tmp");
+            om.writeValue(tmp.toFile(), state);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Kayıtlı oturum varsa ve süresi dolmamışsa cookie ve localStorage'ı mevcut sayfaya yükleyip
+     * sayfayı yeniler. Sayfa, cookie'lerin ait olduğu domain üzerinde açık olmalıdır.
+     *
+     * @return durum geri yüklendiyse true; oturumun hâlâ geçerli olduğu ayrıca doğrulanmalıdır
+     */
+    public static boolean restore(WebDriver driver, String email) {
+        if (!ENABLED) return false;
+
+        File file = fileFor(email).toFile();
+        if (!file.isFile()) return false;
+
+        SessionState state;
+        try {
+            state = om.readValue(file, SessionState.class);
+        } catch (Exception e) {
+            invalidate(email);
+            return false;
+        }
+
+        if (System.currentTimeMillis() - state.savedAt > TTL_MILLIS) {
+            invalidate(email);
+            return false;
+        }
+
+        addCookies(driver, state.cookies);
+
+        try {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, state.localStorage);
+        } catch (Exception ignored) {
+        }
+
+        driver.navigate().refresh();
+        return true;
+    }
+
+    public static void invalidate(String email) {
+        try {
+            Files.deleteIfExists(fileFor(email));
+        } catch (Exception ignored) {
+        }
+    }
+
+    static List<CookieDef> readCookies(WebDriver driver) {
+        List<CookieDef> out = new ArrayList<>();
+        for (Cookie c : driver.manage().getCookies()) {
+            CookieDef d = new CookieDef();
+            d.name = c.getName();
+            d.value = c.getValue();
+            d.domain = c.getDomain();
+            d.path = c.getPath();
+            d.expiry = c.getExpiry() == null ? null : c.getExpiry().getTime();
+            d.secure = c.isSecure();
+            d.httpOnly = c.isHttpOnly();
+            d.sameSite = c.getSameSite();
+            out.add(d);
+        }
+        return out;
+    }
+
+    /** Süresi dolmamış cookie'leri mevcut sayfaya ekler; sayfa cookie'lerin domain'inde açık olmalıdır. */
+    static void addCookies(WebDriver driver, List<CookieDef> cookies) {
+        long now = System.currentTimeMillis();
+        for (CookieDef d : cookies) {
+            if (d.expiry != null && d.expiry < now) continue;
+            try {
+                Cookie.Builder b = new Cookie.Builder(d.name, d.value)
+                        .path(d.path == null ? "/" : d.path)
+                        .isSecure(d.secure)
+                        .isHttpOnly(d.httpOnly);
+                if (d.domain != null) b.domain(d.domain);
+                if (d.expiry != null) b.expiresOn(new Date(d.expiry));
+                if (d.sameSite != null) b.sameSite(d.sameSite);
+                driver.manage().addCookie(b.build());
+            } catch (Exception ignored) {
+                // Başka bir domain'e ait cookie'ler bu sayfada eklenemez
+            }
+        }
+    }
+
+    private static Path fileFor(String email) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 12; i++) sb.append(String.format("%02x", hash[i]));
+            return Paths.get(CACHE_DIR, sb + ".json");
+        } catch (Exception e) {
+            throw new RuntimeException("Session cache dosya adı üretilemedi", e);
+        }
+    }
+
+    public static class SessionState {
+        public long savedAt;
+        public List<CookieDef> cookies = new ArrayList<>();
+        public Map<String, String> localStorage = new HashMap<>();
+    }
+
+    public static class CookieDef {
+        public String name;
+        public String value;
+        public String domain;
+        public String path;
+        public Long expiry;
+        public boolean secure;
+        public boolean httpOnly;
+        public String sameSite;
+    }
+}
@@ -0,0 +1,28 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * until çağrısını StepMetrics bekleme aralığı olarak işaretleyen WebDriverWait. Yoklama sırasında
+ * çalışan komutlar komut süresine değil bekleme süresine yazılır.
+ */
+public class MeasuredWait extends WebDriverWait {
+
+    public MeasuredWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout);
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        StepMetrics.waitStarted();
+        try {
+            return super.until(isTrue);
+        } finally {
+            StepMetrics.waitFinished();
+        }
+    }
+}
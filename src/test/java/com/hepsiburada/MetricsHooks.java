@@ -0,0 +1,69 @@
+package com.hepsiburada;
+
+import com.thoughtworks.gauge.AfterScenario;
+import com.thoughtworks.gauge.AfterStep;
+import com.thoughtworks.gauge.AfterSuite;
+import com.thoughtworks.gauge.BeforeScenario;
+import com.thoughtworks.gauge.BeforeStep;
+import com.thoughtworks.gauge.ExecutionContext;
+import com.thoughtworks.gauge.Gauge;
+
+import java.io.File;
+
+public class MetricsHooks {
+
+    private static final ThreadLocal<Long> scenarioStart = new ThreadLocal<>();
+
+    @BeforeScenario
+    public void startScenario(ExecutionContext context) {
+        scenarioStart.set(System.currentTimeMillis());
+        PerfCapture.scenarioStarted(context.getCurrentSpecification().getFileName(),
+                context.getCurrentScenario().getName());
+    }
+
+    @AfterScenario
+    public void finishScenario(ExecutionContext context) {
+        PerfCapture.scenarioFinished();
+
+        Long start = scenarioStart.get();
+        if (start == null) return;
+        scenarioStart.remove();
+
+        ScenarioDurations.record(ScenarioDurations.key(
+                context.getCurrentSpecification().getFileName(),
+                context.getCurrentScenario().getName()), System.currentTimeMillis() - start,
+                context.getCurrentScenario().getIsFailing());
+    }
+
+    @BeforeStep
+    public void startStep(ExecutionContext context) {
+        StepMetrics.stepStarted(context.getCurrentStep().getText());
+    }
+
+    @AfterStep
+    public void finishStep() {
+        String summary = StepMetrics.stepFinished();
+        if (summary != null) Gauge.writeMessage(summary);
+    }
+
+    @AfterSuite
+    public void writeMetrics() {
+        ScenarioDurations.flush();
+
+        File locators = LocatorStats.write();
+        if (locators != null) {
+            Gauge.writeMessage("Locator istatistikleri: " + locators.getAbsolutePath());
+            for (String line : LocatorStats.summaryLines()) {
+                Gauge.writeMessage(line);
+            }
+        }
+
+        File file = StepMetrics.writeReport();
+        if (file == null) return;
+
+        Gauge.writeMessage("Adım metrikleri: " + file.getAbsolutePath());
+        for (String line : StepMetrics.summaryLines(5)) {
+            Gauge.writeMessage(line);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.gauge.Gauge;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sayfanın kendi ölçtüğü frontend metrikleri: Navigation Timing (ttfb, dcl, load), resource timing
+ * toplamları, LCP, CLS ve long task'ler. Tek bir async script çağrısı buffered PerformanceObserver'larla
+ * sayfa açıldığından beri biriken kayıtları okur; sayfaya önceden script enjekte etmek gerekmez,
+ * yeni sekmede açılan sayfalarda da çalışır.
+ * Her ölçüm metrics_dir/frontend-perf/<run>.jsonl dosyasına bir satır olarak eklenir (koşu başına
+ * zaman serisi). values.json'da PerfBudget_<sayfa> tanımlıysa bütçeyi aşan adım düşer;
+ * perf_budget_enforce=false ise (live ortamı) aşılan metrikler yalnızca rapora uyarı olarak yazılır.
+ */
+public final class PerfCapture {
+
+    static final boolean ENABLED = EnvConfig.getBoolean("frontend_perf", true);
+    private static final boolean ENFORCE = EnvConfig.getBoolean("perf_budget_enforce", true);
+    private static final String METRICS_DIR = EnvConfig.get("metrics_dir", "metrics");
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "-" + ProcessHandle.current().pid();
+
+    private static final Set<String> METRICS = Set.of("ttfb", "dcl", "load", "document_kb", "resources",
+            "transfer_kb", "decoded_kb", "lcp", "cls", "long_tasks", "long_task_ms", "tbt");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ThreadLocal<String[]> scenario = new ThreadLocal<>();
+
+    private static final String CAPTURE_SCRIPT =
+            "const done = arguments[arguments.length - 1];" +
+            "const out = {url: location.href};" +
+            "const nav = performance.getEntriesByType('navigation')[0];" +
+            "if (nav) {" +
+            "  out.navigation_type = nav.type;" +
+            "  out.ttfb = Math.round(nav.responseStart);" +
+            "  out.dcl = Math.round(nav.domContentLoadedEventEnd) || null;" +
+            "  out.load = Math.round(nav.loadEventEnd) || null;" +
+            "  out.document_kb = Math.round(nav.transferSize / 1024);" +
+            "}" +
+            "const res = performance.getEntriesByType('resource');" +
+            "out.resources = res.length;" +
+            "out.transfer_kb = Math.round(res.reduce((s, r) => s + (r.transferSize || 0), 0) / 1024);" +
+            "out.decoded_kb = Math.round(res.reduce((s, r) => s + (r.decodedBodySize || 0), 0) / 1024);" +
+            "const lcp = [], shifts = [], tasks = [];" +
+            "const observers = [];" +
+            "const watch = (type, sink) => {" +
+            "  try {" +
+            "    const o = new PerformanceObserver(l => sink.push(...l.getEntries()));" +
+            "    o.observe({type: type, buffered: true});" +
+            "    observers.push([o, sink]);" +
+            "  } catch (e) {}" +
+            "};" +
+            "watch('largest-contentful-paint', lcp);" +
+            "watch('layout-shift', shifts);" +
+            "watch('longtask', tasks);" +
+            "setTimeout(() => {" +
+            "  for (const [o, sink] of observers) { sink.push(...o.takeRecords()); o.disconnect(); }" +
+            "  out.lcp = lcp.length ? Math.round(lcp[lcp.length - 1].startTime) : null;" +
+            // CLS: 1 sn boşluk / 5 sn üst sınırlı oturum pencerelerinin en büyüğü
+            "  let cls = 0, win = 0, first = 0, last = 0;" +
+            "  for (const s of shifts) {" +
+            "    if (s.hadRecentInput) continue;" +
+            "    if (win && s.startTime - last < 1000 && s.startTime - first < 5000) { win += s.value; }" +
+            "    else { win = s.value; first = s.startTime; }" +
+            "    last = s.startTime; cls = Math.max(cls, win);" +
+            "  }" +
+            "  out.cls = Math.round(cls * 1000) / 1000;" +
+            "  out.long_tasks = tasks.length;" +
+            "  out.long_task_ms = Math.round(tasks.reduce((s, t) => s + t.duration, 0));" +
+            "  out.tbt = Math.round(tasks.reduce((s, t) => s + Math.max(0, t.duration - 50), 0));" +
+            "  done(out);" +
+            "}, 50);";
+
+    private PerfCapture() {
+    }
+
+    /** Zaman serisi satırlarına spec/senaryo adı eklenebilsin diye hook'lardan çağrılır. */
+    public static void scenarioStarted(String spec, String scenarioName) {
+        scenario.set(new String[]{spec, scenarioName});
+    }
+
+    public static void scenarioFinished() {
+        scenario.remove();
+    }
+
+    /**
+     * Aktif sayfanın metriklerini okur, zaman serisine ve Gauge raporuna yazar, budget verilmişse kontrol eder.
+     * Kapalıysa veya sayfa okunamazsa null döner (ölçüm adımı düşürmez; budget aşımı yalnızca
+     * perf_budget_enforce=true ise düşürür).
+     *
+     * @param budget "lcp=4000,cls=0.1,tbt=600" biçiminde üst sınırlar; null olabilir
+     */
+    public static Map<String, Object> capture(WebDriver driver, String page, String budget) {
+        if (!ENABLED) return null;
+
+        Map<String, Object> sample;
+        try {
+            Object res = ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT);
+            if (!(res instanceof Map)) return null;
+            sample = new LinkedHashMap<>();
+            sample.put("ts", System.currentTimeMillis());
+            sample.put("run", RUN_ID);
+            String[] sc = scenario.get();
+            if (sc != null) {
+                sample.put("spec", sc[0]);
+                sample.put("scenario", sc[1]);
+            }
+            sample.put("page", page);
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) res).entrySet()) {
+                sample.put(String.valueOf(e.getKey()), e.getValue());
+            }
+        } catch (WebDriverException e) {
+            // Ölçüm sırasında sayfa değişti; bu örnek atlanır
+            return null;
+        }
+
+        append(sample);
+        Gauge.writeMessage(summary(sample));
+
+        if (budget != null) {
+            List<String> exceeded = exceeded(sample, budget);
+            if (!exceeded.isEmpty()) {
+                String message = "Performans bütçesi aşıldı [" + page + "]: " + String.join(", ", exceeded);
+                if (ENFORCE) throw new AssertionError(message);
+                Gauge.writeMessage("UYARI: " + message);
+            }
+        }
+        return sample;
+    }
+
+    /** Gauge raporuna yazılan tek satırlık özet. */
+    static String summary(Map<String, Object> sample) {
+        return String.format(Locale.ROOT,
+                "perf [%s] ttfb=%s dcl=%s load=%s lcp=%s cls=%s tbt=%s long_tasks=%s resources=%s transfer_kb=%s",
+                sample.get("page"), sample.get("ttfb"), sample.get("dcl"), sample.get("load"), sample.get("lcp"),
+                sample.get("cls"), sample.get("tbt"), sample.get("long_tasks"), sample.get("resources"),
+                sample.get("transfer_kb"));
+    }
+
+    static List<String> exceeded(Map<String, Object> sample, String budget) {
+        List<String> out = new ArrayList<>();
+        for (String part : budget.split(",")) {
+            if (part.trim().isEmpty()) continue;
+            String[] kv = part.split("=", 2);
+            if (kv.length != 2) {
+                throw new RuntimeException("PerfBudget değeri hatalı (metrik=sınır bekleniyor): " + part);
+            }
+            String metric = kv[0].trim();
+            double limit = Double.parseDouble(kv[1].trim());
+
+            if (!METRICS.contains(metric)) {
+                throw new RuntimeException("PerfBudget içinde bilinmeyen metrik: " + metric);
+            }
+            Object v = sample.get(metric);
+            // Sayfa metriği henüz üretmediyse (ör. LCP yok) kontrol edilmez
+            if (!(v instanceof Number)) continue;
+            double actual = ((Number) v).doubleValue();
+            if (actual > limit) {
+                out.add(metric + "=" + v + " > " + kv[1].trim());
+            }
+        }
+        return out;
+    }
+
+    private static synchronized void append(Map<String, Object> sample) {
+        File file = new File(new File(METRICS_DIR, "frontend-perf"), RUN_ID + ".jsonl");
+        try {
+            file.getParentFile().mkdirs();
+            String line = MAPPER.writeValueAsString(sample) + System.lineSeparator();
+            Files.write(file.toPath(), line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Frontend perf kaydı yazılamadı: " + file, e);
+        }
+    }
+}
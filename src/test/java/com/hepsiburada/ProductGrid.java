@@ -0,0 +1,236 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Ürün listesinde satır/sütun bulma.
+ * Sayfa adım adım kaydırılır; her adımda tek bir async script yalnızca yeni render edilen kartların
+ * ilk gerçek linkini ve sayfa içi mutlak konumunu döner. Kartlar artımlı bir satır indeksine eklenir
+ * ve hedef (satır, sütun) kesinleştiği anda tarama durur.
+ */
+public final class ProductGrid {
+
+    /** Aynı satırda sayılacak kartlar arasındaki en büyük dikey fark (px). */
+    public static final double ROW_TOLERANCE = 60.0;
+
+    private static final int MAX_CARDS = EnvConfig.getInt("product_scan_max_cards", 2000);
+    private static final int BATCH_SIZE = EnvConfig.getInt("product_scan_batch", 60);
+    private static final int STEP_WAIT_MILLIS = EnvConfig.getInt("product_scan_step_wait_millis", 1500);
+
+    // Kartlar tarama kimliğiyle işaretlenir, böylece her çağrı yalnızca yenileri döner.
+    // Seçici listesinde eşleşen ilk alternatif seçilir ve tarama boyunca o kullanılır (pick).
+    private static final String SCAN_SCRIPT =
+            "const sels = arguments[0], scanId = arguments[1], max = arguments[2], waitMs = arguments[3];" +
+            "const scroll = arguments[4];" +
+            "let pick = arguments[5];" +
+            "const done = arguments[arguments.length - 1];" +
+            "const selector = () => {" +
+            "  if (pick < 0) pick = sels.findIndex(s => document.querySelector(s) !== null);" +
+            "  return pick < 0 ? null : sels[pick];" +
+            "};" +
+            "const collect = () => {" +
+            "  const out = [];" +
+            "  const sel = selector();" +
+            "  if (sel === null) return out;" +
+            "  for (const c of document.querySelectorAll(sel)) {" +
+            "    if (c.dataset.hbScan === scanId) continue;" +
+            "    const r = c.getBoundingClientRect();" +
+            "    if (r.width === 0 || r.height === 0) continue;" +
+            "    const st = window.getComputedStyle(c);" +
+            "    if (st.visibility === 'hidden' || st.display === 'none') continue;" +
+            "    let link = null;" +
+            "    for (const a of c.querySelectorAll('a[href]')) {" +
+            "      const raw = (a.getAttribute('href') || '').trim().toLowerCase();" +
+            "      if (raw === '' || raw === '#' || raw.startsWith('javascript')) continue;" +
+            "      link = a; break;" +
+            "    }" +
+            "    if (link === null) continue;" +
+            "    c.dataset.hbScan = scanId;" +
+            "    out.push([link, link.href, r.top + window.scrollY, r.left]);" +
+            "    if (out.length >= max) break;" +
+            "  }" +
+            "  return out;" +
+            "};" +
+            "const atBottom = () => window.innerHeight + window.scrollY >= document.documentElement.scrollHeight - 2;" +
+            "const first = collect();" +
+            "if (first.length > 0 || !scroll) { done([first, first.length === 0 && atBottom(), pick]); return; }" +
+            "window.scrollBy(0, Math.round(window.innerHeight * 0.8));" +
+            "let finished = false, obs = null, timer = null;" +
+            "const finish = v => { if (finished) return; finished = true; obs.disconnect(); clearTimeout(timer); done(v); };" +
+            "obs = new MutationObserver(() => { const n = collect(); if (n.length > 0) finish([n, false, pick]); });" +
+            "obs.observe(document.body, {subtree: true, childList: true});" +
+            "timer = setTimeout(() => { const n = collect(); finish([n, n.length === 0 && atBottom(), pick]); }, waitMs);";
+
+    private ProductGrid() {
+    }
+
+    public static class Card {
+        public final int index;
+        public final WebElement link;
+        public final String href;
+        public final double topAbs;
+        public final double left;
+
+        public Card(int index, WebElement link, String href, double topAbs, double left) {
+            this.index = index;
+            this.link = link;
+            this.href = href;
+            this.topAbs = topAbs;
+            this.left = left;
+        }
+    }
+
+    /**
+     * Kartların geldikçe eklendiği satır indeksi. Satırın çapası en üstteki kartıdır (en küçük topAbs);
+     * kartlar üstten alta sıralanıp bir kart satırın çapasına ROW_TOLERANCE içindeyse o satıra eklenir,
+     * değilse yeni satır açar. Sonuç ekleme sırasından bağımsızdır ve groupRows ile aynıdır.
+     * Tarama sırasında kartlar çoğunlukla aşağı doğru geldiği için en alttaki kartın altına eklenen kart
+     * yalnızca son satırı uzatır; daha yukarıya eklenen kartta satırlar bir sonraki okumada yeniden kurulur.
+     */
+    public static class RowIndex {
+        private final TreeMap<Double, List<Card>> byTop = new TreeMap<>();
+        private List<List<Card>> rows = new ArrayList<>();
+        private int size;
+
+        public void add(Card c) {
+            boolean below = byTop.isEmpty() || c.topAbs >= byTop.lastKey();
+            byTop.computeIfAbsent(c.topAbs, k -> new ArrayList<>()).add(c);
+            size++;
+
+            if (!below) {
+                rows = null;
+                return;
+            }
+            if (rows == null) return;
+
+            List<Card> last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            if (last != null && c.topAbs - last.get(0).topAbs <= ROW_TOLERANCE) last.add(c);
+            else rows.add(new ArrayList<>(List.of(c)));
+        }
+
+        public int rowCount() {
+            return rows().size();
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** 1 tabanlı satır, soldan sağa sıralı; satır yoksa null. */
+        public List<Card> row(int rowNo) {
+            List<List<Card>> all = rows();
+            if (rowNo < 1 || rowNo > all.size()) return null;
+            List<Card> sorted = new ArrayList<>(all.get(rowNo - 1));
+            sorted.sort(Comparator.comparingDouble(c -> c.left));
+            return sorted;
+        }
+
+        // Her satırın ilk kartı çapadır (en üstteki)
+        private List<List<Card>> rows() {
+            if (rows != null) return rows;
+            rows = new ArrayList<>();
+            for (List<Card> same : byTop.values()) {
+                for (Card c : same) {
+                    List<Card> last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+                    if (last != null && c.topAbs - last.get(0).topAbs <= ROW_TOLERANCE) last.add(c);
+                    else rows.add(new ArrayList<>(List.of(c)));
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Sayfayı gerektiği kadar kaydırarak hedef kartı bulur. Hedef satırın altında yeni bir satır
+     * görüldüğünde hedef satır tamamlanmış sayılır ve tarama durur. cards yalnızca css
+     * alternatiflerinden oluşmalıdır; kartları bulan alternatif LocatorStats'a yazılır.
+     */
+    public static Card find(WebDriver driver, LocatorHelper.ScriptTargets cards, int targetRow, int targetCol) {
+        if (targetRow < 1) {
+            throw new RuntimeException("İstenen satır bulunamadı. İstenen: " + targetRow);
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String scanId = Long.toString(System.nanoTime());
+        RowIndex index = new RowIndex();
+        boolean exhausted = false;
+        boolean scroll = false;
+
+        List<String> sels = new ArrayList<>(cards.locators.size());
+        for (LocatorHelper.ScriptLocator l : cards.locators) sels.add(l.value);
+        int pick = -1;
+        long started = System.nanoTime();
+
+        while (index.rowCount() <= targetRow && index.size() < MAX_CARDS) {
+            List<?> res = (List<?>) js.executeAsyncScript(SCAN_SCRIPT, sels, scanId, BATCH_SIZE, STEP_WAIT_MILLIS, scroll, pick);
+            List<?> batch = (List<?>) res.get(0);
+
+            if (pick < 0) {
+                pick = ((Number) res.get(2)).intValue();
+                if (pick >= 0) cards.record(pick, (System.nanoTime() - started) / 1_000_000.0);
+            }
+
+            for (Object o : batch) {
+                List<?> arr = (List<?>) o;
+                index.add(new Card(
+                        index.size(),
+                        (WebElement) arr.get(0),
+                        (String) arr.get(1),
+                        ((Number) arr.get(2)).doubleValue(),
+                        ((Number) arr.get(3)).doubleValue()
+                ));
+            }
+
+            if (Boolean.TRUE.equals(res.get(1))) {
+                exhausted = true;
+                break;
+            }
+            // İlk çağrı yalnızca mevcut kartları okur; sonrakiler yeni kart yoksa kaydırır
+            scroll = true;
+        }
+
+        if (index.size() < 6 && exhausted) {
+            throw new RuntimeException("Yeterli ürün kartı bulunamadı. Bulunan: " + index.size());
+        }
+
+        List<Card> chosenRow = index.row(targetRow);
+        if (chosenRow == null) {
+            throw new RuntimeException("İstenen satır bulunamadı. Görünen satır sayısı: " + index.rowCount());
+        }
+
+        if (targetCol < 1 || targetCol > chosenRow.size()) {
+            throw new RuntimeException(targetRow + ". satırda " + chosenRow.size()
+                    + " ürün var. İstenen: " + targetCol);
+        }
+
+        return chosenRow.get(targetCol - 1);
+    }
+
+    /** Kartları üstten alta satırlara, her satırı soldan sağa sıralı olacak şekilde gruplar. */
+    public static List<List<Card>> groupRows(List<Card> cards) {
+        List<Card> sorted = new ArrayList<>(cards);
+        sorted.sort(Comparator.comparingDouble((Card c) -> c.topAbs)
+                .thenComparingDouble(c -> c.left));
+
+        List<List<Card>> rows = new ArrayList<>();
+        for (Card c : sorted) {
+            if (rows.isEmpty()) rows.add(new ArrayList<>(List.of(c)));
+            else {
+                List<Card> last = rows.get(rows.size() - 1);
+                double rowTop = last.get(0).topAbs;
+                if (Math.abs(c.topAbs - rowTop) <= ROW_TOLERANCE) last.add(c);
+                else rows.add(new ArrayList<>(List.of(c)));
+            }
+        }
+
+        for (List<Card> r : rows) r.sort(Comparator.comparingDouble(c -> c.left));
+        return rows;
+    }
+}
@@ -0,0 +1,84 @@
+package com.hepsiburada;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductGridTest {
+
+    @Test
+    void rowIndexMatchesGroupRowsOnShuffledInput() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<ProductGrid.Card> cards = jitteredGrid(random, 8, 4);
+            Collections.shuffle(cards, random);
+
+            ProductGrid.RowIndex index = new ProductGrid.RowIndex();
+            for (ProductGrid.Card c : cards) index.add(c);
+
+            assertEquals(indices(ProductGrid.groupRows(cards)), indices(rows(index)), "run " + run);
+        }
+    }
+
+    @Test
+    void borderlineCardJoinsTheSameRowInAnyOrder() {
+        // 150 çapaya (100) 50 px, 165 ise 65 px uzakta: sıra ne olursa olsun {100, 150} ve {165}
+        ProductGrid.Card a = card(0, 100, 0);
+        ProductGrid.Card b = card(1, 150, 250);
+        ProductGrid.Card c = card(2, 165, 500);
+
+        List<List<Integer>> expected = List.of(List.of(0, 1), List.of(2));
+        for (List<ProductGrid.Card> order : List.of(List.of(a, b, c), List.of(c, b, a), List.of(b, c, a), List.of(c, a, b))) {
+            ProductGrid.RowIndex index = new ProductGrid.RowIndex();
+            for (ProductGrid.Card card : order) index.add(card);
+            assertEquals(expected, indices(rows(index)));
+        }
+    }
+
+    @Test
+    void rowOutsideRangeIsNull() {
+        ProductGrid.RowIndex index = new ProductGrid.RowIndex();
+        index.add(card(0, 10, 0));
+        assertNull(index.row(0));
+        assertNull(index.row(2));
+        assertEquals(1, index.row(1).size());
+    }
+
+    // Satırlar 300 px arayla, her kart ±20 px dikey sapmayla
+    private static List<ProductGrid.Card> jitteredGrid(Random random, int rows, int cols) {
+        List<ProductGrid.Card> cards = new ArrayList<>();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                double top = r * 300 + random.nextInt(41) - 20;
+                cards.add(card(cards.size(), top, c * 250 + random.nextInt(10)));
+            }
+        }
+        return cards;
+    }
+
+    private static ProductGrid.Card card(int index, double top, double left) {
+        return new ProductGrid.Card(index, null, "https://example.com/p/" + index, top, left);
+    }
+
+    private static List<List<ProductGrid.Card>> rows(ProductGrid.RowIndex index) {
+        List<List<ProductGrid.Card>> out = new ArrayList<>();
+        for (int i = 1; i <= index.rowCount(); i++) out.add(index.row(i));
+        return out;
+    }
+
+    private static List<List<Integer>> indices(List<List<ProductGrid.Card>> rows) {
+        List<List<Integer>> out = new ArrayList<>();
+        for (List<ProductGrid.Card> row : rows) {
+            List<Integer> ids = new ArrayList<>();
+            for (ProductGrid.Card c : row) ids.add(c.index);
+            out.add(ids);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Sabit Thread.sleep yerine sayfa sakinleşince biten bekleme.
+ * Sayfaya bir kez MutationObserver ve fetch/XHR sayacı yerleştirilir; bekleme bekleyen istek
+ * kalmadığında ve DOM quiet_window_millis boyunca değişmediğinde, en geç üst sınırda biter.
+ * Tüm kontrol tek bir async script çağrısı içinde tarayıcıda yapılır.
+ */
+public final class QuietWait {
+
+    private static final int QUIET_WINDOW_MILLIS = EnvConfig.getInt("quiet_window_millis", 500);
+
+    private static final String QUIET_SCRIPT =
+            "const done = arguments[arguments.length - 1];" +
+            "const quietMs = arguments[0], maxMs = arguments[1];" +
+            "const w = window;" +
+            "if (!w.__hbQuiet) {" +
+            "  const s = w.__hbQuiet = {pending: 0, last: performance.now()};" +
+            "  const touch = () => { s.last = performance.now(); };" +
+            "  new MutationObserver(touch).observe(document.documentElement," +
+            "      {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "  if (w.fetch) {" +
+            "    const of = w.fetch;" +
+            "    w.fetch = function () {" +
+            "      s.pending++; touch();" +
+            "      return of.apply(this, arguments).finally(() => { s.pending--; touch(); });" +
+            "    };" +
+            "  }" +
+            "  const os = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    s.pending++; touch();" +
+            "    this.addEventListener('loadend', () => { s.pending--; touch(); });" +
+            "    return os.apply(this, arguments);" +
+            "  };" +
+            "}" +
+            "const s = w.__hbQuiet;" +
+            "const start = performance.now();" +
+            "(function check() {" +
+            "  const now = performance.now();" +
+            "  const quiet = document.readyState !== 'loading' && s.pending <= 0 && now - s.last >= quietMs;" +
+            "  if (quiet || now - start >= maxMs) { done(quiet); return; }" +
+            "  setTimeout(check, 50);" +
+            "})();";
+
+    private QuietWait() {
+    }
+
+    /**
+     * values.json'daki bekleme tanımını uygular.
+     * "5" → 5 sn sabit bekleme, "quiet:5" → sayfa sakinleşene kadar en fazla 5 sn.
+     */
+    public static void await(WebDriver driver, String spec) {
+        String s = spec.trim().toLowerCase(Locale.ROOT);
+
+        if (s.startsWith("quiet")) {
+            double seconds = s.contains(":") ? Double.parseDouble(s.substring(s.indexOf(':') + 1).trim()) : 5.0;
+            untilQuiet(driver, Duration.ofMillis((long) (seconds * 1000)));
+            return;
+        }
+
+        sleep((long) (Double.parseDouble(s) * 1000));
+    }
+
+    /** @return sayfa üst sınırdan önce sakinleştiyse true */
+    public static boolean untilQuiet(WebDriver driver, Duration max) {
+        StepMetrics.waitStarted();
+        try {
+            Object res = ((JavascriptExecutor) driver).executeAsyncScript(
+                    QUIET_SCRIPT, QUIET_WINDOW_MILLIS, max.toMillis());
+            return Boolean.TRUE.equals(res);
+        } catch (WebDriverException e) {
+            // Bekleme sırasında sayfa değiştiyse script sonuç dönemez; çağıran kendi koşulunu bekler
+            return false;
+        } finally {
+            StepMetrics.waitFinished();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            StepMetrics.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * document.readyState yoklaması yerine, adımın ihtiyaç duyduğu element kullanılabilir olduğu anda
+ * biten bekleme. Tarayıcıda MutationObserver ile tek bir async script çağrısında beklenir; sayfa
+ * beklerken değişirse (navigation) script yeni sayfada tekrar başlatılır. Yedekli key'lerde tüm
+ * alternatifler sırayla denenir; kullanılabilir elementi veren alternatif LocatorStats'a isabet,
+ * öncekiler ıska olarak yazılır.
+ */
+public final class Readiness {
+
+    private static final String INTERACTABLE_SCRIPT =
+            "const locs = arguments[0], timeoutMs = arguments[1];" +
+            "const done = arguments[arguments.length - 1];" +
+            "const t0 = performance.now();" +
+            "const all = ({kind, sel}) => {" +
+            "  if (kind === 'id') { const e = document.getElementById(sel); return e ? [e] : []; }" +
+            "  if (kind === 'xpath') {" +
+            "    const r = document.evaluate(sel, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    const out = []; for (let i = 0; i < r.snapshotLength; i++) out.push(r.snapshotItem(i)); return out;" +
+            "  }" +
+            "  return Array.from(document.querySelectorAll(sel));" +
+            "};" +
+            "const usable = el => {" +
+            "  const r = el.getBoundingClientRect();" +
+            "  if (r.width === 0 || r.height === 0) return false;" +
+            "  const st = window.getComputedStyle(el);" +
+            "  if (st.visibility === 'hidden' || st.display === 'none' || st.pointerEvents === 'none') return false;" +
+            "  return !el.disabled && el.getAttribute('aria-disabled') !== 'true';" +
+            "};" +
+            "let finished = false, obs = null, timer = null;" +
+            "const finish = v => {" +
+            "  if (finished) return; finished = true;" +
+            "  if (obs) obs.disconnect(); clearTimeout(timer); done(v);" +
+            "};" +
+            "const check = () => {" +
+            "  for (let i = 0; i < locs.length; i++) {" +
+            "    for (const el of all(locs[i])) { if (usable(el)) { finish([el, i, performance.now() - t0]); return; } }" +
+            "  }" +
+            "};" +
+            "obs = new MutationObserver(check);" +
+            "obs.observe(document, {subtree: true, childList: true, attributes: true});" +
+            "timer = setTimeout(() => finish(null), timeoutMs);" +
+            "check();";
+
+    private Readiness() {
+    }
+
+    /**
+     * elementKey'in işaret ettiği element görünür ve etkin olana kadar bekler.
+     * Script ile çözülemeyen locator type'larında WebDriverWait ile beklenir.
+     */
+    public static WebElement untilInteractable(WebDriver driver, LocatorHelper locators,
+                                               String elementKey, Duration timeout) {
+        LocatorHelper.ScriptTargets targets = locators.getScriptTargets(elementKey);
+        By by = locators.getBy(elementKey);
+
+        if (targets == null) {
+            return new MeasuredWait(driver, timeout).until(ExpectedConditions.elementToBeClickable(by));
+        }
+
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        StepMetrics.waitStarted();
+        try {
+            while (true) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) break;
+
+                try {
+                    Object res = ((JavascriptExecutor) driver).executeAsyncScript(
+                            INTERACTABLE_SCRIPT, targets.toArg(), remaining);
+                    if (!(res instanceof List)) break;
+
+                    List<?> hit = (List<?>) res;
+                    targets.record(((Number) hit.get(1)).intValue(), ((Number) hit.get(2)).doubleValue());
+                    return (WebElement) hit.get(0);
+                } catch (WebDriverException e) {
+                    // Script çalışırken sayfa değişti; yeni sayfada tekrar denenir
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(ie);
+                    }
+                }
+            }
+        } finally {
+            StepMetrics.waitFinished();
+        }
+
+        throw new TimeoutException("Element kullanılabilir olmadı: " + elementKey
+                + " (" + timeout.getSeconds() + " sn)");
+    }
+}
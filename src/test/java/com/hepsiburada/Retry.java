@@ -0,0 +1,139 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adımlardaki tekrar deneme döngülerinin ortak motoru.
+ * Yalnızca tanımlı hata tipleri tekrar denenir (stale, intercepted click, move target out of bounds);
+ * her tipin kendi toplam deneme sayısı (ilk deneme dahil) ve başlangıç gecikmesi vardır. Gecikme her
+ * denemede ikiye katlanır, retry_max_delay_millis ile sınırlanır ve %50–100 arası jitter uygulanır.
+ * İlk hatadan sonra retry_budget_millis aşılırsa son hata fırlatılır; tekrar denemelerindeki beklemeler
+ * {@link #capped(Duration)} ile kalan bütçeyle sınırlanır. Her tekrar StepMetrics'e bildirilir.
+ */
+public final class Retry {
+
+    private static final long MAX_DELAY_MILLIS = EnvConfig.getInt("retry_max_delay_millis", 1000);
+    private static final long BUDGET_MILLIS = EnvConfig.getInt("retry_budget_millis", 5000);
+    // Bütçe bitmek üzereyken de deneme en az bir yoklama yapabilsin
+    private static final long MIN_WAIT_MILLIS = 250;
+
+    private static final Map<Class<? extends RuntimeException>, Policy> POLICIES = new LinkedHashMap<>();
+    // Tekrar denemesi sürerken bütçenin bittiği an; ilk denemede yoktur
+    private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
+
+    static {
+        POLICIES.put(StaleElementReferenceException.class, new Policy(
+                EnvConfig.getInt("retry_stale_attempts", 3), EnvConfig.getInt("retry_stale_base_millis", 100)));
+        POLICIES.put(ElementClickInterceptedException.class, new Policy(
+                EnvConfig.getInt("retry_intercepted_attempts", 3), EnvConfig.getInt("retry_intercepted_base_millis", 150)));
+        POLICIES.put(MoveTargetOutOfBoundsException.class, new Policy(
+                EnvConfig.getInt("retry_out_of_bounds_attempts", 3), EnvConfig.getInt("retry_out_of_bounds_base_millis", 150)));
+    }
+
+    private Retry() {
+    }
+
+    static class Policy {
+        final int attempts;
+        final long baseDelayMillis;
+
+        Policy(int attempts, long baseDelayMillis) {
+            this.attempts = attempts;
+            this.baseDelayMillis = baseDelayMillis;
+        }
+    }
+
+    public interface Attempt<T> {
+        T run() throws Exception;
+    }
+
+    public interface VoidAttempt {
+        void run() throws Exception;
+    }
+
+    public static void run(String name, VoidAttempt attempt) {
+        run(name, () -> {
+            attempt.run();
+            return null;
+        });
+    }
+
+    /** Checked exception'lar (ör. InterruptedException) RuntimeException içinde fırlatılır. */
+    public static <T> T run(String name, Attempt<T> attempt) {
+        Long outer = deadline.get();
+        Map<Class<?>, Integer> counts = new LinkedHashMap<>();
+        long budgetEnd = 0;
+
+        try {
+            while (true) {
+                try {
+                    return attempt.run();
+                } catch (RuntimeException e) {
+                    Class<?> type = matchingType(e);
+                    if (type == null) throw e;
+
+                    Policy policy = POLICIES.get(type);
+                    int n = counts.merge(type, 1, Integer::sum);
+                    long delay = backoff(policy, n);
+                    if (budgetEnd == 0) {
+                        budgetEnd = System.currentTimeMillis() + BUDGET_MILLIS;
+                        if (outer != null) budgetEnd = Math.min(budgetEnd, outer);
+                    }
+                    if (n >= policy.attempts || System.currentTimeMillis() + delay >= budgetEnd) throw e;
+
+                    StepMetrics.retried(name, type.getSimpleName());
+                    sleep(delay);
+                    deadline.set(budgetEnd);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(ie);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        } finally {
+            if (outer == null) deadline.remove();
+            else deadline.set(outer);
+        }
+    }
+
+    /**
+     * Deneme içindeki beklemelerin üst sınırı. Retry dışında ve ilk denemede max döner; tekrar
+     * denemelerinde kalan bütçeyi aşmaz, böylece her deneme tam bekleme süresini yeniden harcamaz.
+     */
+    public static Duration capped(Duration max) {
+        Long end = deadline.get();
+        if (end == null) return max;
+        long left = Math.max(MIN_WAIT_MILLIS, end - System.currentTimeMillis());
+        return left < max.toMillis() ? Duration.ofMillis(left) : max;
+    }
+
+    static long backoff(Policy policy, int attempt) {
+        long exp = policy.baseDelayMillis << Math.min(attempt - 1, 16);
+        long capped = Math.min(MAX_DELAY_MILLIS, exp);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    private static Class<?> matchingType(RuntimeException e) {
+        for (Class<? extends RuntimeException> type : POLICIES.keySet()) {
+            if (type.isInstance(e)) return type;
+        }
+        return null;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            StepMetrics.sleep(millis);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(ie);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hepsiburada;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryTest {
+
+    @Test
+    void backoffDoublesWithJitterAndIsCapped() {
+        Retry.Policy policy = new Retry.Policy(10, 100);
+        for (int i = 0; i < 100; i++) {
+            long first = Retry.backoff(policy, 1);
+            long second = Retry.backoff(policy, 2);
+            long late = Retry.backoff(policy, 12);
+            assertTrue(first >= 50 && first <= 100, "1. deneme: " + first);
+            assertTrue(second >= 100 && second <= 200, "2. deneme: " + second);
+            // retry_max_delay_millis varsayılanı 1000
+            assertTrue(late >= 500 && late <= 1000, "12. deneme: " + late);
+        }
+    }
+
+    @Test
+    void retriesUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+        String result = Retry.run("test", () -> {
+            if (calls.incrementAndGet() < 3) throw new StaleElementReferenceException("stale");
+            return "ok";
+        });
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void firstTryCountsAsAnAttempt() {
+        // retry_stale_attempts varsayılanı 3: ilk deneme + 2 tekrar
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(StaleElementReferenceException.class, () -> Retry.run("test", (Retry.VoidAttempt) () -> {
+            calls.incrementAndGet();
+            throw new StaleElementReferenceException("stale");
+        }));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void otherErrorsAreNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(NoSuchElementException.class, () -> Retry.run("test", (Retry.VoidAttempt) () -> {
+            calls.incrementAndGet();
+            throw new NoSuchElementException("yok");
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void waitsAreCappedOnlyWhileRetrying() {
+        Duration max = Duration.ofSeconds(15);
+        assertEquals(max, Retry.capped(max));
+
+        AtomicInteger calls = new AtomicInteger();
+        Duration during = Retry.run("test", () -> {
+            if (calls.incrementAndGet() == 1) throw new StaleElementReferenceException("stale");
+            return Retry.capped(max);
+        });
+        // retry_budget_millis varsayılanı 5000
+        assertTrue(during.toMillis() <= 5000, "tekrar denemesinde: " + during);
+        assertEquals(max, Retry.capped(max));
+    }
+}
@@ -0,0 +1,97 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Senaryo sürelerinin koşumlar arası geçmişi; ShardRunner bu dosyaya göre senaryoları dağıtır.
+ * Key: proje köküne göre spec yolu + "#" + senaryo adı. Değer: son koşumun süresi (ms).
+ * Ayrıca yalnızca bu koşumun senaryo sonuçları (passed/failed) RESULTS_FILE_NAME'e yazılır;
+ * ShardRunner shard'ların sonuçlarını bu dosyalardan birleştirir.
+ */
+public final class ScenarioDurations {
+
+    public static final String FILE_NAME = "scenario-durations.json";
+    public static final String RESULTS_FILE_NAME = "scenario-results.json";
+    public static final String PASSED = "passed";
+    public static final String FAILED = "failed";
+
+    private static final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private static final Map<String, String> results = new ConcurrentHashMap<>();
+    private static final ObjectMapper om = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ScenarioDurations() {
+    }
+
+    public static String key(String specFile, String scenario) {
+        Path p = Paths.get(specFile);
+        Path root = Paths.get(System.getProperty("user.dir")).toAbsolutePath();
+        if (p.isAbsolute() && p.startsWith(root)) p = root.relativize(p);
+        return p.toString().replace(File.separatorChar, '/') + "#" + scenario.trim();
+    }
+
+    static void record(String key, long millis, boolean failed) {
+        measured.put(key, millis);
+        results.put(key, failed ? FAILED : PASSED);
+    }
+
+    /**
+     * Bu koşumda ölçülen süreleri metrics_dir altındaki geçmiş dosyasına ekler ve bu koşumun
+     * sonuçlarını sonuç dosyasına yazar.
+     */
+    static void flush() {
+        if (measured.isEmpty()) return;
+        File dir = new File(EnvConfig.get("metrics_dir", "metrics"));
+        File file = new File(dir, FILE_NAME);
+        Map<String, Long> all = read(file);
+        all.putAll(measured);
+        write(file, all);
+        writeResults(new File(dir, RESULTS_FILE_NAME), results);
+    }
+
+    public static Map<String, Long> read(File file) {
+        if (!file.isFile()) return new TreeMap<>();
+        try {
+            return new TreeMap<>(om.readValue(file, new TypeReference<Map<String, Long>>() {
+            }));
+        } catch (Exception e) {
+            throw new RuntimeException(FILE_NAME + " okunamadı: " + file, e);
+        }
+    }
+
+    public static Map<String, String> readResults(File file) {
+        if (!file.isFile()) return new TreeMap<>();
+        try {
+            return new TreeMap<>(om.readValue(file, new TypeReference<Map<String, String>>() {
+            }));
+        } catch (Exception e) {
+            throw new RuntimeException(RESULTS_FILE_NAME + " okunamadı: " + file, e);
+        }
+    }
+
+    private static void writeResults(File file, Map<String, String> results) {
+        try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+            om.writeValue(file, new TreeMap<>(results));
+        } catch (Exception e) {
+            throw new RuntimeException(RESULTS_FILE_NAME + " yazılamadı: " + file, e);
+        }
+    }
+
+    public static void write(File file, Map<String, Long> durations) {
+        try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+            om.writeValue(file, new TreeMap<>(durations));
+        } catch (Exception e) {
+            throw new RuntimeException(FILE_NAME + " yazılamadı: " + file, e);
+        }
+    }
+}
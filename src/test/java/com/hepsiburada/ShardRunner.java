@@ -0,0 +1,402 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spec'leri önceki koşumların senaryo sürelerine göre N shard'a böler ve her shard'ı ayrı bir
+ * gauge süreci (kendi JVM'i ve Chrome'u) olarak çalıştırır.
+ * <p>
+ * Dağıtım LPT (en uzun senaryo önce, en az yüklü shard'a) ile yapılır. Login gerektiren senaryolar
+ * aynı hesabın sepetini paylaşmamak için yalnızca kendine ait hesabı olan shard'lara verilir;
+ * hesaplar shard_accounts dosyasından (satır başına "email,şifre") okunur, dosya yoksa tek hesap
+ * (values.json) vardır. Login tespiti "login" tag'inden ya da login adımından yapılır; login adımını
+ * içeren concept'ler (.cpt) ve checkpoint'ler (checkpoints.json) açılarak bakılır.
+ * Shard'ların senaryo sonuçları (metrics/scenario-results.json) reports/shards altında senaryo başına
+ * tek bir sonuç tablosunda (results.json ve index.html) birleştirilir.
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.hepsiburada.ShardRunner -Dexec.args="--shards 4 --env default"
+ * </pre>
+ */
+public final class ShardRunner {
+
+    private static final long DEFAULT_DURATION_MILLIS = 60_000;
+    private static final String NOT_RUN = "not_run";
+    private static final String LOGIN_STEP = "Kullanıcı hesabı ile oturum açılır";
+    private static final Pattern CHECKPOINT_STEP = Pattern.compile("\"([^\"]+)\" checkpoint'inden başlanır");
+
+    static class Scenario {
+        final String spec;
+        final int line;
+        final String name;
+        final boolean needsLogin;
+        long expectedMillis;
+
+        Scenario(String spec, int line, String name, boolean needsLogin) {
+            this.spec = spec;
+            this.line = line;
+            this.name = name;
+            this.needsLogin = needsLogin;
+        }
+
+        String key() {
+            return spec + "#" + name;
+        }
+    }
+
+    static class Shard {
+        final int id;
+        final String[] account;
+        final List<Scenario> scenarios = new ArrayList<>();
+        long expectedMillis;
+
+        Shard(int id, String[] account) {
+            this.id = id;
+            this.account = account;
+        }
+
+        void add(Scenario s) {
+            scenarios.add(s);
+            expectedMillis += s.expectedMillis;
+        }
+    }
+
+    private ShardRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = parseArgs(args);
+        int shardCount = Integer.parseInt(opts.getOrDefault("shards", "2"));
+        if (shardCount < 1) throw new IllegalArgumentException("--shards en az 1 olmalı: " + shardCount);
+        String env = opts.getOrDefault("env", "default");
+        String specsDir = opts.getOrDefault("specs", "specs");
+        String gauge = opts.getOrDefault("gauge", "gauge");
+        File metricsDir = new File(EnvConfig.get("metrics_dir", "metrics"));
+        File outDir = new File(opts.getOrDefault("out", "reports/shards"));
+
+        List<Scenario> scenarios = parseSpecs(Paths.get(specsDir),
+                loginSteps(Paths.get(specsDir), new File(EnvConfig.get("checkpoints_path", "src/test/resources/checkpoints.json"))));
+        Map<String, Long> history = ScenarioDurations.read(new File(metricsDir, ScenarioDurations.FILE_NAME));
+        applyDurations(scenarios, history);
+
+        List<String[]> accounts = readAccounts(EnvConfig.get("shard_accounts", "env/shard-accounts.csv"));
+        List<Shard> shards = partition(scenarios, shardCount, accounts);
+
+        outDir.mkdirs();
+        List<Process> processes = new ArrayList<>();
+        for (Shard shard : shards) {
+            processes.add(shard.scenarios.isEmpty() ? null : start(gauge, env, shard, outDir));
+            System.out.printf(Locale.ROOT, "shard-%d: %d senaryo, beklenen %d sn%n",
+                    shard.id, shard.scenarios.size(), shard.expectedMillis / 1000);
+        }
+
+        int failed = 0;
+        List<Map<String, Object>> summary = new ArrayList<>();
+        List<Map<String, Object>> results = new ArrayList<>();
+        Map<String, Long> merged = new LinkedHashMap<>(history);
+        for (int i = 0; i < shards.size(); i++) {
+            Shard shard = shards.get(i);
+            Process p = processes.get(i);
+            int exit = p == null ? 0 : p.waitFor();
+            if (exit != 0) failed++;
+
+            File shardDir = new File(outDir, "shard-" + shard.id);
+            Map<String, Long> durations = ScenarioDurations.read(new File(shardDir, "metrics/" + ScenarioDurations.FILE_NAME));
+            Map<String, String> statuses = ScenarioDurations.readResults(
+                    new File(shardDir, "metrics/" + ScenarioDurations.RESULTS_FILE_NAME));
+            merged.putAll(durations);
+
+            for (Scenario s : shard.scenarios) {
+                // Sonuç dosyasında olmayan senaryo hiç koşmamıştır (shard erken düştü, filtrelendi vb.)
+                Map<String, Object> r = new LinkedHashMap<>();
+                r.put("scenario", s.key());
+                r.put("shard", shard.id);
+                r.put("status", statuses.getOrDefault(s.key(), NOT_RUN));
+                r.put("durationMs", statuses.containsKey(s.key()) ? durations.get(s.key()) : null);
+                results.add(r);
+            }
+
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("shard", shard.id);
+            m.put("exitCode", exit);
+            m.put("expectedSeconds", shard.expectedMillis / 1000);
+            m.put("scenarios", shard.scenarios.stream().map(Scenario::key).collect(Collectors.toList()));
+            m.put("report", "shard-" + shard.id + "/html-report/index.html");
+            summary.add(m);
+        }
+
+        // Sonraki dağıtım bu koşumun ölçümlerini kullanır
+        ScenarioDurations.write(new File(metricsDir, ScenarioDurations.FILE_NAME), merged);
+        writeSummary(outDir, summary, results);
+
+        long passed = results.stream().filter(r -> ScenarioDurations.PASSED.equals(r.get("status"))).count();
+        System.out.printf(Locale.ROOT, "%d/%d senaryo başarılı%n", passed, results.size());
+
+        System.out.println("Shard raporu: " + new File(outDir, "index.html").getAbsolutePath());
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * LPT: senaryolar beklenen süreye göre azalan sırada, o an en az yüklü uygun shard'a verilir.
+     * Login gerektiren senaryolar yalnızca hesabı olan shard'lara gider ve önce yerleştirilir.
+     */
+    static List<Shard> partition(List<Scenario> scenarios, int shardCount, List<String[]> accounts) {
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i + 1, i < accounts.size() ? accounts.get(i) : null));
+        }
+        int loginShards = Math.max(1, Math.min(shardCount, accounts.size()));
+
+        List<Scenario> sorted = new ArrayList<>(scenarios);
+        sorted.sort(Comparator.comparing((Scenario s) -> !s.needsLogin)
+                .thenComparingLong(s -> -s.expectedMillis));
+
+        for (Scenario s : sorted) {
+            List<Shard> candidates = s.needsLogin ? shards.subList(0, loginShards) : shards;
+            Shard target = candidates.stream().min(Comparator.comparingLong(sh -> sh.expectedMillis)).get();
+            target.add(s);
+        }
+        return shards;
+    }
+
+    static List<Scenario> parseSpecs(Path dir, Set<String> loginSteps) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            files = walk.filter(p -> p.toString().endsWith(".spec")).sorted().collect(Collectors.toList());
+        }
+
+        List<Scenario> out = new ArrayList<>();
+        for (Path file : files) {
+            String spec = file.toString().replace(File.separatorChar, '/');
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+            String name = null;
+            int line = 0;
+            boolean login = false;
+            for (int i = 0; i < lines.size(); i++) {
+                String l = lines.get(i).trim();
+                if (l.startsWith("## ")) {
+                    if (name != null) out.add(new Scenario(spec, line, name, login));
+                    name = l.substring(3).trim();
+                    line = i + 1;
+                    login = false;
+                } else if (name != null && (l.startsWith("tags:") && hasTag(l, "login")
+                        || l.startsWith("*") && isLoginStep(l.substring(1).trim(), loginSteps))) {
+                    login = true;
+                }
+            }
+            if (name != null) out.add(new Scenario(spec, line, name, login));
+        }
+        return out;
+    }
+
+    /**
+     * Login yapan adım metinleri: Java login adımı, adımları arasında login olan checkpoint'ler ve
+     * (iç içe dahil) login adımı içeren concept başlıkları. Parametreler {} ile normalize edilir;
+     * checkpoint çağrıları adıyla birlikte tutulur.
+     */
+    static Set<String> loginSteps(Path specsDir, File checkpointsFile) throws IOException {
+        Set<String> login = new HashSet<>();
+        login.add(normalize(LOGIN_STEP));
+
+        if (checkpointsFile.isFile()) {
+            Map<String, Map<String, Object>> defs = new ObjectMapper().readValue(checkpointsFile,
+                    new TypeReference<Map<String, Map<String, Object>>>() {
+                    });
+            for (Map.Entry<String, Map<String, Object>> e : defs.entrySet()) {
+                Object steps = e.getValue().get("steps");
+                if (!(steps instanceof List)) continue;
+                for (Object step : (List<?>) steps) {
+                    if (isLoginStep(step.toString(), login)) {
+                        login.add("\"" + e.getKey() + "\" checkpoint'inden başlanır");
+                        break;
+                    }
+                }
+            }
+        }
+
+        Map<String, List<String>> concepts = parseConcepts(specsDir);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Map.Entry<String, List<String>> c : concepts.entrySet()) {
+                if (login.contains(c.getKey())) continue;
+                for (String step : c.getValue()) {
+                    if (isLoginStep(step, login)) {
+                        login.add(c.getKey());
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return login;
+    }
+
+    private static boolean isLoginStep(String step, Set<String> loginSteps) {
+        Matcher m = CHECKPOINT_STEP.matcher(step);
+        return loginSteps.contains(m.matches() ? step : normalize(step));
+    }
+
+    // concept başlığı (normalize) → adımları
+    private static Map<String, List<String>> parseConcepts(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            files = walk.filter(p -> p.toString().endsWith(".cpt")).sorted().collect(Collectors.toList());
+        }
+
+        Map<String, List<String>> concepts = new LinkedHashMap<>();
+        for (Path file : files) {
+            List<String> steps = null;
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String l = line.trim();
+                if (l.startsWith("# ")) {
+                    steps = concepts.computeIfAbsent(normalize(l.substring(2)), k -> new ArrayList<>());
+                } else if (steps != null && l.startsWith("*")) {
+                    steps.add(l.substring(1).trim());
+                }
+            }
+        }
+        return concepts;
+    }
+
+    private static String normalize(String step) {
+        return step.trim().replaceAll("\"[^\"]*\"|<[^>]*>", "{}");
+    }
+
+    private static boolean hasTag(String tagsLine, String tag) {
+        for (String t : tagsLine.substring("tags:".length()).split(",")) {
+            if (t.trim().equalsIgnoreCase(tag)) return true;
+        }
+        return false;
+    }
+
+    private static void applyDurations(List<Scenario> scenarios, Map<String, Long> history) {
+        long known = history.values().stream().mapToLong(Long::longValue).sum();
+        long fallback = history.isEmpty() ? DEFAULT_DURATION_MILLIS : known / history.size();
+        for (Scenario s : scenarios) {
+            s.expectedMillis = history.getOrDefault(s.key(), fallback);
+        }
+    }
+
+    static List<String[]> readAccounts(String path) throws IOException {
+        List<String[]> accounts = new ArrayList<>();
+        File file = new File(path);
+        if (!file.isFile()) return accounts;
+
+        String delimiter = EnvConfig.get("csv_delimiter", ",");
+        for (String l : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            if (l.trim().isEmpty() || l.trim().startsWith("#")) continue;
+            String[] parts = l.split(Pattern.quote(delimiter), 2);
+            if (parts.length == 2) accounts.add(new String[]{parts[0].trim(), parts[1].trim()});
+        }
+        return accounts;
+    }
+
+    private static Process start(String gauge, String env, Shard shard, File outDir) throws IOException {
+        File shardDir = new File(outDir, "shard-" + shard.id);
+        shardDir.mkdirs();
+
+        List<String> cmd = new ArrayList<>(List.of(gauge, "run", "--env", env));
+        for (Scenario s : shard.scenarios) cmd.add(s.spec + ":" + s.line);
+
+        ProcessBuilder pb = new ProcessBuilder(cmd);
+        Map<String, String> penv = pb.environment();
+        penv.put("gauge_reports_dir", shardDir.getPath());
+        penv.put("metrics_dir", new File(shardDir, "metrics").getPath());
+        penv.put("logs_directory", new File(shardDir, "logs").getPath());
+        // Her shard tek JVM'de sıralı koşar; paralellik shard sayısından gelir
+        penv.put("enable_multithreading", "false");
+        if (shard.account != null) {
+            penv.put("value_LoginEmail", shard.account[0]);
+            penv.put("value_LoginSifre", shard.account[1]);
+        }
+
+        pb.redirectErrorStream(true);
+        pb.redirectOutput(new File(shardDir, "console.log"));
+        return pb.start();
+    }
+
+    private static void writeSummary(File outDir, List<Map<String, Object>> summary,
+                                     List<Map<String, Object>> results) throws IOException {
+        ObjectMapper om = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        om.writeValue(new File(outDir, "summary.json"), summary);
+        om.writeValue(new File(outDir, "results.json"), results);
+
+        long passed = results.stream().filter(r -> ScenarioDurations.PASSED.equals(r.get("status"))).count();
+        long failed = results.stream().filter(r -> ScenarioDurations.FAILED.equals(r.get("status"))).count();
+
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><meta charset=\"utf-8\">"
+                + "<title>Shard raporu</title></head><body><h1>Shard raporu</h1>");
+        html.append("<p>").append(results.size()).append(" senaryo: ").append(passed).append(" başarılı, ")
+                .append(failed).append(" başarısız, ").append(results.size() - passed - failed)
+                .append(" koşmadı</p>");
+
+        html.append("<h2>Senaryolar</h2><table border=\"1\">"
+                + "<tr><th>Senaryo</th><th>Sonuç</th><th>Süre (sn)</th><th>Shard</th></tr>");
+        for (Map<String, Object> r : results) {
+            Object ms = r.get("durationMs");
+            html.append("<tr><td>").append(escape(r.get("scenario").toString())).append("</td><td>")
+                    .append(statusText(r.get("status"))).append("</td><td>")
+                    .append(ms == null ? "" : String.valueOf(((Number) ms).longValue() / 1000)).append("</td><td>")
+                    .append("<a href=\"shard-").append(r.get("shard")).append("/html-report/index.html\">shard-")
+                    .append(r.get("shard")).append("</a></td></tr>");
+        }
+        html.append("</table>");
+
+        html.append("<h2>Shard'lar</h2><table border=\"1\">"
+                + "<tr><th>Shard</th><th>Sonuç</th><th>Beklenen (sn)</th><th>Senaryolar</th></tr>");
+        for (Map<String, Object> m : summary) {
+            html.append("<tr><td><a href=\"").append(m.get("report")).append("\">shard-")
+                    .append(m.get("shard")).append("</a></td><td>")
+                    .append(Integer.valueOf(0).equals(m.get("exitCode")) ? "başarılı" : "başarısız")
+                    .append("</td><td>").append(m.get("expectedSeconds")).append("</td><td>");
+            for (Object s : (List<?>) m.get("scenarios")) {
+                html.append(escape(s.toString())).append("<br>");
+            }
+            html.append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+        Files.write(new File(outDir, "index.html").toPath(), html.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String statusText(Object status) {
+        if (ScenarioDurations.PASSED.equals(status)) return "başarılı";
+        if (ScenarioDurations.FAILED.equals(status)) return "başarısız";
+        return "koşmadı";
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Beklenmeyen argüman: " + args[i]);
+            opts.put(args[i].substring(2), args[i + 1]);
+        }
+        return opts;
+    }
+}
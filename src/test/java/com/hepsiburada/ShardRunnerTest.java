@@ -0,0 +1,67 @@
+package com.hepsiburada;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRunnerTest {
+
+    @Test
+    void loginScenariosGoOnlyToShardsWithAccounts() {
+        List<ShardRunner.Scenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < 6; i++) scenarios.add(scenario("login-" + i, true, 10_000));
+        for (int i = 0; i < 6; i++) scenarios.add(scenario("guest-" + i, false, 10_000));
+
+        List<String[]> accounts = List.of(new String[]{"a@x.com", "1"}, new String[]{"b@x.com", "2"});
+        List<ShardRunner.Shard> shards = ShardRunner.partition(scenarios, 3, accounts);
+
+        assertEquals(3, shards.size());
+        assertEquals("a@x.com", shards.get(0).account[0]);
+        assertEquals("b@x.com", shards.get(1).account[0]);
+        assertNull(shards.get(2).account);
+        assertTrue(shards.get(2).scenarios.stream().noneMatch(s -> s.needsLogin));
+        assertEquals(12, shards.stream().mapToInt(s -> s.scenarios.size()).sum());
+    }
+
+    @Test
+    void withoutAccountsLoginScenariosShareTheFirstShard() {
+        List<ShardRunner.Scenario> scenarios = List.of(
+                scenario("login-1", true, 5_000), scenario("login-2", true, 5_000), scenario("guest", false, 5_000));
+
+        List<ShardRunner.Shard> shards = ShardRunner.partition(scenarios, 2, List.of());
+
+        assertEquals(List.of("login-1", "login-2"), names(shards.get(0)));
+        assertEquals(List.of("guest"), names(shards.get(1)));
+    }
+
+    @Test
+    void longestScenariosAreBalancedFirst() {
+        // LPT: 8 ve 7 ayrı shard'lara, ardından her senaryo o an en az yüklü shard'a (eşitlikte ilki)
+        List<ShardRunner.Scenario> scenarios = new ArrayList<>();
+        for (long ms : new long[]{3, 8, 2, 5, 7, 4}) scenarios.add(scenario("s" + ms, false, ms * 1000));
+
+        List<ShardRunner.Shard> shards = ShardRunner.partition(scenarios, 2, List.of());
+
+        assertEquals(List.of("s8", "s4", "s3"), names(shards.get(0)));
+        assertEquals(List.of("s7", "s5", "s2"), names(shards.get(1)));
+        assertEquals(15_000, shards.get(0).expectedMillis);
+        assertEquals(14_000, shards.get(1).expectedMillis);
+    }
+
+    private static ShardRunner.Scenario scenario(String name, boolean login, long expectedMillis) {
+        ShardRunner.Scenario s = new ShardRunner.Scenario("specs/test.spec", 1, name, login);
+        s.expectedMillis = expectedMillis;
+        return s;
+    }
+
+    private static List<String> names(ShardRunner.Shard shard) {
+        List<String> out = new ArrayList<>();
+        for (ShardRunner.Scenario s : shard.scenarios) out.add(s.name);
+        return out;
+    }
+}
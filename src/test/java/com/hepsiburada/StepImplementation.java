@@ -4,10 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.thoughtworks.gauge.Step;
 import org.openqa.selenium.*;
 import org.openqa.selenium.TimeoutException;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
@@ -17,64 +14,75 @@ import java.util.*;
 
 public class StepImplementation {
 
-    private static WebDriver driver;
-    private static WebDriverWait wait;
-    private static Actions actions;
-
     private static final String ELEMENTS_PATH = "src/test/resources/element-infos/elements.json";
     private static final String VALUES_PATH   = "src/test/resources/value-infos/test/values.json";
 
-    private static LocatorHelper locatorHelper;   // ✅ aynı package: com.hepsiburada
-    private static Map<String, String> values;
+    // Thread'ler arasında paylaşılır, JVM başına bir kez yüklenir
+    private static volatile LocatorHelper locatorHelper;
+    private static volatile Map<String, String> values;
+    // Toplu koşumda (BatchRunner) satırın değerleri o satır boyunca values.json'ın önüne geçer
+    private static final ThreadLocal<Map<String, String>> rowValues = new ThreadLocal<>();
 
     private void ensureInit() {
-        if (driver != null) return;
-
-        ChromeOptions options = new ChromeOptions();
+        if (values == null) loadShared();
+        DriverPool.current();
+    }
 
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-blink-features=AutomationControlled");
+    // Locator ve değerler suite başında yüklenir; hatalı elements.json senaryo ortasında değil burada patlar
+    static synchronized void loadShared() {
+        if (values != null) return;
+        locatorHelper = LocatorHelper.shared(ELEMENTS_PATH);
 
-        Map<String, Object> prefs = new HashMap<>();
-        prefs.put("credentials_enable_service", false);
-        prefs.put("profile.password_manager_enabled", false);
-        prefs.put("profile.default_content_setting_values.notifications", 2);
-        options.setExperimentalOption("prefs", prefs);
+        // value_<Key> ortam değişkeni values.json'daki değeri ezer (ör. shard başına farklı hesap)
+        Map<String, String> loaded = new HashMap<>(loadValues(VALUES_PATH));
+        for (Map.Entry<String, String> e : System.getenv().entrySet()) {
+            if (e.getKey().startsWith("value_")) loaded.put(e.getKey().substring("value_".length()), e.getValue());
+        }
+        values = Map.copyOf(loaded);
+    }
 
-        options.addArguments("--disable-features=FedCm,IdentityCredential,InterestCohort");
-        options.setExperimentalOption("excludeSwitches", List.of("enable-automation"));
-        options.setExperimentalOption("useAutomationExtension", false);
+    // Her Gauge thread'i havuzdan kendi driver/wait/actions üçlüsünü kullanır
+    private DriverSession session() {
+        return DriverPool.current();
+    }
 
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--lang=tr-TR");
+    private WebDriver driver() {
+        return session().driver;
+    }
 
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
+    private WebDriverWait defaultWait() {
+        return session().wait;
+    }
 
-        ((JavascriptExecutor) driver).executeScript(
-                "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})"
-        );
+    // Retry.run içinde: ilk denemede defaultWait, tekrar denemelerinde kalan retry bütçesi kadar
+    private WebDriverWait retryWait() {
+        Duration timeout = Retry.capped(Duration.ofSeconds(15));
+        return timeout.getSeconds() >= 15 ? defaultWait() : new MeasuredWait(driver(), timeout);
+    }
 
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        actions = new Actions(driver);
+    private Actions actions() {
+        return session().actions;
+    }
 
-        locatorHelper = new LocatorHelper(ELEMENTS_PATH); // ✅ elements.json burada yükleniyor
-        values = loadValues();
+    static void setRowValues(Map<String, String> row) {
+        if (row == null) rowValues.remove();
+        else rowValues.set(row);
     }
 
     private String getValue(String key) {
-        String v = values.get(key);
+        Map<String, String> row = rowValues.get();
+        String v = row != null && row.containsKey(key) ? row.get(key) : values.get(key);
         if (v == null) throw new RuntimeException("values.json içinde key bulunamadı: " + key);
         return v;
     }
 
     @SuppressWarnings("unchecked")
-    private Map<String, String> loadValues() {
+    static Map<String, String> loadValues(String path) {
         try {
             ObjectMapper om = new ObjectMapper();
-            return om.readValue(new File(VALUES_PATH), Map.class);
+            return om.readValue(new File(path), Map.class);
         } catch (Exception e) {
-            throw new RuntimeException("values.json okunamadı: " + VALUES_PATH, e);
+            throw new RuntimeException("values.json okunamadı: " + path, e);
         }
     }
 
@@ -85,29 +93,31 @@ public class StepImplementation {
     @Step("URL <valueKey> adresine gidilir")
     public void goToUrlByValueKey(String valueKey) {
         ensureInit();
-        String url = getValue(valueKey);
-        driver.get(url);
+        driver().get(getValue(valueKey));
+
+        capturePerf(valueKey);
     }
 
     @Step("Element <elementKey> görünür olana kadar beklenir")
     public void waitUntilVisible(String elementKey) {
         ensureInit();
         By by = locatorHelper.getBy(elementKey);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(by));
+        defaultWait().until(ExpectedConditions.visibilityOfElementLocated(by));
     }
 
     @Step("Element <elementKey> varsa tıklanır")
     public void clickIfExists(String elementKey) {
         ensureInit();
-        By by = locatorHelper.getBy(elementKey);
-        List<WebElement> found = driver.findElements(by);
-        if (!found.isEmpty()) {
-            try {
-                wait.until(ExpectedConditions.elementToBeClickable(found.get(0))).click();
-            } catch (Exception ignored) {
-                found.get(0).click();
-            }
+
+        ElementProbe.State st = ElementProbe.probe(driver(), locatorHelper, true, elementKey).get(elementKey);
+        if (!st.present) return;
+
+        if (!st.clickable()) {
+            st = ElementProbe.await(driver(), locatorHelper, elementKey,
+                    ElementProbe.Condition.CLICKABLE, Duration.ofSeconds(15));
+            if (!st.present) return;
         }
+        clickProbed(st);
     }
 
     @Step("Element <elementKey> üzerine gelinir")
@@ -115,32 +125,20 @@ public class StepImplementation {
         ensureInit();
         By by = locatorHelper.getBy(elementKey);
 
-        int maxTry = 3;
-        for (int i = 1; i <= maxTry; i++) {
-            try {
-                WebElement el = wait.until(ExpectedConditions.visibilityOfElementLocated(by));
-                actions.moveToElement(el).pause(Duration.ofMillis(200)).perform();
-                return;
-            } catch (StaleElementReferenceException | MoveTargetOutOfBoundsException e) {
-                try { Thread.sleep(300); } catch (InterruptedException ignored) {}
-            }
-        }
-
-        WebElement el = wait.until(ExpectedConditions.visibilityOfElementLocated(by));
-        actions.moveToElement(el).perform();
+        Retry.run("hover " + elementKey, () -> {
+            WebElement el = retryWait().until(ExpectedConditions.visibilityOfElementLocated(by));
+            actions().moveToElement(el).pause(Duration.ofMillis(200)).perform();
+        });
     }
 
     @Step("Element <elementKey> 10 saniye içinde görünürse tıklanır")
     public void clickVisibleWithin10Seconds(Object arg0) {
         ensureInit();
 
-        By by = locatorHelper.getBy("btn_CerezKabul");
-
-        try {
-            WebDriverWait shortWait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            WebElement el = shortWait.until(ExpectedConditions.visibilityOfElementLocated(by));
-            shortWait.until(ExpectedConditions.elementToBeClickable(el)).click();
-        } catch (TimeoutException ignored) {
+        ElementProbe.State st = ElementProbe.await(driver(), locatorHelper, "btn_CerezKabul",
+                ElementProbe.Condition.CLICKABLE, Duration.ofSeconds(10));
+        if (st.clickable()) {
+            st.element.click();
         }
     }
 
@@ -160,151 +158,42 @@ public class StepImplementation {
         int targetCol = Integer.parseInt(col.trim());
 
         By cardsBy = locatorHelper.getBy("lst_ProductCards");
-        wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(cardsBy, 5));
-
-        List<WebElement> cards = driver.findElements(cardsBy);
-        int limit = Math.min(cards.size(), 60);
-        cards = cards.subList(0, limit);
-
-        JavascriptExecutor js = (JavascriptExecutor) driver;
-
-        class CardPos {
-            final WebElement el;
-            final double topAbs;
-            final double left;
-            CardPos(WebElement el, double topAbs, double left) {
-                this.el = el; this.topAbs = topAbs; this.left = left;
-            }
-        }
-
-        List<CardPos> positions = new ArrayList<>();
-
-        for (WebElement card : cards) {
-            try {
-                if (!card.isDisplayed()) continue;
-
-                List<WebElement> links = card.findElements(By.cssSelector("a[href]"));
-                if (links.isEmpty()) continue;
-
-                boolean hasRealLink = false;
-                for (WebElement a : links) {
-                    String href = a.getAttribute("href");
-                    if (href == null) continue;
-                    href = href.trim().toLowerCase(Locale.ROOT);
-                    if (href.isEmpty() || href.startsWith("javascript") || href.equals("#")) continue;
-                    hasRealLink = true;
-                    break;
-                }
-                if (!hasRealLink) continue;
-
-                Object res = js.executeScript(
-                        "const r = arguments[0].getBoundingClientRect();" +
-                                "return [r.top + window.scrollY, r.left];",
-                        card
-                );
-                List<?> arr = (List<?>) res;
-                double topAbs = ((Number) arr.get(0)).doubleValue();
-                double left = ((Number) arr.get(1)).doubleValue();
-
-                positions.add(new CardPos(card, topAbs, left));
-            } catch (StaleElementReferenceException ignored) {
-            }
-        }
-
-        if (positions.size() < 6) {
-            throw new RuntimeException("Yeterli ürün kartı bulunamadı. Bulunan: " + positions.size());
-        }
-
-        positions.sort(Comparator.comparingDouble((CardPos p) -> p.topAbs)
-                .thenComparingDouble(p -> p.left));
-
-        double tol = 60.0;
-        List<List<CardPos>> rows = new ArrayList<>();
-        for (CardPos p : positions) {
-            if (rows.isEmpty()) rows.add(new ArrayList<>(List.of(p)));
-            else {
-                List<CardPos> last = rows.get(rows.size() - 1);
-                double rowTop = last.get(0).topAbs;
-                if (Math.abs(p.topAbs - rowTop) <= tol) last.add(p);
-                else rows.add(new ArrayList<>(List.of(p)));
-            }
-        }
-
-        for (List<CardPos> r : rows) r.sort(Comparator.comparingDouble(a -> a.left));
-
-        if (targetRow < 1 || targetRow > rows.size()) {
-            throw new RuntimeException("İstenen satır bulunamadı. Görünen satır sayısı: " + rows.size());
-        }
-
-        List<CardPos> chosenRow = rows.get(targetRow - 1);
+        defaultWait().until(ExpectedConditions.numberOfElementsToBeMoreThan(cardsBy, 5));
 
-        if (targetCol < 1 || targetCol > chosenRow.size()) {
-            throw new RuntimeException(targetRow + ". satırda " + chosenRow.size()
-                    + " ürün var. İstenen: " + targetCol);
+        LocatorHelper.ScriptTargets cards = locatorHelper.getScriptTargets("lst_ProductCards");
+        if (cards == null || !cards.allKind("css")) {
+            throw new RuntimeException("lst_ProductCards ve yedekleri css locator olmalı (ürün taraması tarayıcıda yapılır)");
         }
 
-        WebElement targetCard = chosenRow.get(targetCol - 1).el;
-
-        WebElement target = targetCard;
-        try {
-            List<WebElement> links = targetCard.findElements(By.cssSelector("a[href]"));
-            for (WebElement a : links) {
-                String href = a.getAttribute("href");
-                if (href == null) continue;
-                href = href.trim().toLowerCase(Locale.ROOT);
-                if (href.isEmpty() || href.startsWith("javascript") || href.equals("#")) continue;
-                target = a;
-                break;
-            }
-        } catch (Exception ignored) {}
-
-        for (int attempt = 1; attempt <= 3; attempt++) {
-            try {
-                Set<String> beforeHandles = driver.getWindowHandles();
-                String currentHandle = driver.getWindowHandle();
+        JavascriptExecutor js = (JavascriptExecutor) driver();
 
-                js.executeScript("arguments[0].scrollIntoView({block:'center'});", target);
+        // Sayfa gerektiği kadar kaydırılır, yalnızca yeni kartlar okunur; hedef bulununca durulur.
+        // Kart stale olursa tarama yeniden yapılır.
+        Retry.run("ürün tıkla " + targetRow + "/" + targetCol, () -> {
+            WebElement target = ProductGrid.find(driver(), cards, targetRow, targetCol).link;
 
+            session().tabs.clickLink(target, link -> {
                 try {
-                    wait.until(ExpectedConditions.elementToBeClickable(target)).click();
-                } catch (Exception ex) {
-                    js.executeScript("arguments[0].click();", target);
+                    retryWait().until(ExpectedConditions.elementToBeClickable(link)).click();
+                } catch (ElementClickInterceptedException | TimeoutException ex) {
+                    js.executeScript("arguments[0].click();", link);
                 }
+            });
+        });
 
-                WebDriverWait tabWait = new WebDriverWait(driver, Duration.ofSeconds(5));
-                try { tabWait.until(d -> d.getWindowHandles().size() > beforeHandles.size()); }
-                catch (TimeoutException ignored) {}
-
-                Set<String> afterHandles = driver.getWindowHandles();
-
-                if (afterHandles.size() > beforeHandles.size()) {
-                    Set<String> diff = new HashSet<>(afterHandles);
-                    diff.removeAll(beforeHandles);
-                    String newHandle = diff.iterator().next();
-                    driver.switchTo().window(newHandle);
-                    driver.manage().window().maximize();
-                } else {
-                    driver.switchTo().window(currentHandle);
-                }
-
-                WebDriverWait readyWait = new WebDriverWait(driver, Duration.ofSeconds(10));
-                readyWait.until(d ->
-                        ((JavascriptExecutor) d).executeScript("return document.readyState").equals("complete")
-                );
-
-                return;
-            } catch (StaleElementReferenceException e) {
-                Thread.sleep(250);
-            }
-        }
+        // Sayfanın tamamı değil, ürün sayfasında ihtiyaç duyulan element beklenir
+        Readiness.untilInteractable(driver(), locatorHelper,
+                getValue("ProductPageReadyElement"), Duration.ofSeconds(15));
 
-        throw new RuntimeException("Ürün tıklanamadı (stale).");
+        capturePerf("ProductPage");
     }
 
+    // Ürün sayfasının metrikleri ürüne tıklayan adımda bir kez ölçülür
     @Step("Ürün sayfasına gidilir")
     public void verifyOnProductPage() {
         ensureInit();
-        wait.until(d -> ((JavascriptExecutor) d).executeScript("return document.readyState").equals("complete"));
+        Readiness.untilInteractable(driver(), locatorHelper,
+                getValue("ProductPageReadyElement"), Duration.ofSeconds(15));
     }
 
     @Step("Arama sonuçlarında 2. satırdaki 1. ürün seçilir")
@@ -320,79 +209,109 @@ public class StepImplementation {
         ensureInit();
 
         String text = getValue(valueKey);
-        Random random = new Random();
+        TypingProfile profile = typingProfileFor(elementKey);
         By by = locatorHelper.getBy(elementKey);
 
-        for (int attempt = 1; attempt <= 3; attempt++) {
-            try {
-                WebElement el = wait.until(ExpectedConditions.visibilityOfElementLocated(by));
-                wait.until(ExpectedConditions.elementToBeClickable(by));
+        Retry.run("yaz " + elementKey, () -> {
+            WebElement el = retryWait().until(ExpectedConditions.visibilityOfElementLocated(by));
+            retryWait().until(ExpectedConditions.elementToBeClickable(by));
 
-                el.click();
-                try { el.clear(); } catch (Exception ignored) {}
+            el.click();
+            try { el.clear(); } catch (InvalidElementStateException ignored) {}
 
-                for (char c : text.toCharArray()) {
-                    el.sendKeys(String.valueOf(c));
-                    Thread.sleep(80 + random.nextInt(180));
-                }
+            profile.type(driver(), el, text, TypingProfile.randomFor(elementKey));
 
-                Thread.sleep(200 + random.nextInt(600));
-                return;
-            } catch (StaleElementReferenceException e) {
-                Thread.sleep(250);
-            }
-        }
+            QuietWait.await(driver(), getValue("TypingSettleWait"));
+        });
+    }
+
+    // Sayfanın frontend metrikleri rapora ve zaman serisine yazılır; values.json PerfBudget_<page> aşımı
+    // perf_budget_enforce=true ise adımı düşürür, değilse uyarı olarak yazılır
+    private void capturePerf(String page) {
+        PerfCapture.capture(driver(), page, values.get("PerfBudget_" + page));
+    }
 
-        throw new RuntimeException("StaleElement hatası aşılamadı: " + elementKey);
+    // Öncelik: values.json TypingProfile_<elementKey> > values.json TypingProfile > env typing_profile
+    private TypingProfile typingProfileFor(String elementKey) {
+        String name = values.get("TypingProfile_" + elementKey);
+        if (name == null) name = values.get("TypingProfile");
+        if (name == null) name = EnvConfig.get("typing_profile", "human");
+        return TypingProfile.of(name);
     }
 
     @Step("Element <elementKey> insan gibi tıklanır")
     public void clickLikeHuman(String elementKey) {
         ensureInit();
 
-        By by = locatorHelper.getBy(elementKey);
-        WebElement el = wait.until(ExpectedConditions.presenceOfElementLocated(by));
-
-        ((JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView({block:'center', inline:'center'});", el);
-
-        try {
-            String disabled = el.getAttribute("disabled");
-            String ariaDisabled = el.getAttribute("aria-disabled");
-            if (disabled != null || "true".equalsIgnoreCase(ariaDisabled)) {
+        Retry.run("tıkla " + elementKey, () -> {
+            ElementProbe.State st = ElementProbe.await(driver(), locatorHelper, elementKey,
+                    ElementProbe.Condition.CLICKABLE, Retry.capped(Duration.ofSeconds(15)));
+            if (!st.present) {
+                throw new TimeoutException("Element bulunamadı: " + elementKey);
+            }
+            if (st.disabled) {
                 throw new RuntimeException("Element disabled görünüyor: " + elementKey +
                         " (disabled/aria-disabled). Muhtemelen varyant/teslimat seçimi gerekiyor veya stok yok.");
             }
-        } catch (Exception ignored) {}
+            clickProbed(st);
+        });
+    }
 
-        try {
-            el = wait.until(ExpectedConditions.elementToBeClickable(by));
-            el.click();
-        } catch (Exception e) {
-            WebElement el2 = driver.findElement(by);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el2);
+    // Durum okuması (bekleme ve scroll dahil) tek script çağrısıdır; ardından tek click komutu gider.
+    // Element görünür değilse, üstü kapalıysa veya native click reddedilirse JS click yapılır.
+    private void clickProbed(ElementProbe.State st) {
+        if (st.clickable()) {
+            try {
+                st.element.click();
+                return;
+            } catch (ElementNotInteractableException ignored) {
+            }
         }
+        ((JavascriptExecutor) driver()).executeScript("arguments[0].click();", st.element);
     }
 
     @Step("Enter tusuna basilir")
     public void pressEnter() {
         ensureInit();
-        actions.sendKeys(Keys.ENTER).perform();
+        actions().sendKeys(Keys.ENTER).perform();
     }
 
     @Step("Fare arama alanına götürülür")
     public void fareAramaAlaninaGoturulur() {
         ensureInit();
 
-        WebElement el = wait.until(
+        WebElement el = defaultWait().until(
                 ExpectedConditions.visibilityOfElementLocated(locatorHelper.getBy("txt_Search"))
         );
 
-        actions.moveToElement(el)
+        actions().moveToElement(el)
                 .pause(Duration.ofMillis(300))
                 .perform();
     }
 
+    @Step("<name> checkpoint'inden başlanır")
+    public void startFromCheckpoint(String name) {
+        ensureInit();
+        Checkpoints.enter(name, getValue("LoginEmail"), session(), locatorHelper, this);
+    }
+
+    @Step("<csvPath> dosyasındaki satırlar toplu çalıştırılır")
+    public void runBatch(String csvPath) {
+        ensureInit();
+        BatchRunner.run(csvPath, this, getValue("LoginEmail"));
+    }
+
+    @Step("Sepet akışı yük modunda çalıştırılır")
+    public void runLoad() {
+        ensureInit();
+        LoadRunner.run(this);
+    }
+
+    boolean isElementPresent(String elementKey) {
+        ensureInit();
+        return ElementProbe.probe(driver(), locatorHelper, false, elementKey).get(elementKey).present;
+    }
+
     @Step("Hepsiburada ana sayfası açılır")
     public void hbAnaSayfaAcilir() {
         ensureInit();
@@ -405,13 +324,26 @@ public class StepImplementation {
         clickIfExists("btn_CerezKabul");
     }
 
-    private static boolean loginVerifiedOnce = false;
-
-    @Step("Kullanıcı hesabı ile giriş yapılır")
+    /**
+     * Login akışının tamamı: kayıtlı oturum varsa ana sayfaya yüklenip doğrulanır, yoksa (veya oturum
+     * düşmüşse) form doldurulur ve başarılı login LoginSessionCache'e yazılır.
+     * "Kullanıcı hesabı ile giriş yapılır" concept'i bu adımı çağırır.
+     */
+    @Step("Kullanıcı hesabı ile oturum açılır")
     public void hbLoginOl() throws Exception {
         ensureInit();
 
-        if (loginVerifiedOnce) return;
+        if (session().loginVerifiedOnce) return;
+
+        String email = getValue("LoginEmail");
+
+        if (LoginSessionCache.restore(driver(), email)) {
+            if (isLoggedIn()) {
+                session().loginVerifiedOnce = true;
+                return;
+            }
+            LoginSessionCache.invalidate(email);
+        }
 
         hoverElement("btn_GirisYapHeader");
         waitUntilVisible("lnk_DropdownGirisYap");
@@ -422,8 +354,22 @@ public class StepImplementation {
         clickLikeHuman("btn_LoginSubmit");
 
         waitUntilVisible("lnk_CikisYap");
+        LoginSessionCache.save(driver(), email);
+
+        session().loginVerifiedOnce = true;
+    }
 
-        loginVerifiedOnce = true;
+    // Hesabım menüsünde "Çıkış Yap" görünüyorsa oturum açıktır
+    private boolean isLoggedIn() {
+        try {
+            hoverElement("btn_GirisYapHeader");
+            WebDriverWait shortWait = new MeasuredWait(driver(),
+                    Duration.ofSeconds(EnvConfig.getInt("login_session_verify_seconds", 5)));
+            shortWait.until(ExpectedConditions.visibilityOfElementLocated(locatorHelper.getBy("lnk_CikisYap")));
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
     }
 
     @Step("Ürün aranır")
@@ -434,22 +380,27 @@ public class StepImplementation {
         clickLikeHuman("txt_Search");
         typeLikeHuman("txt_Search", "SearchText");
         pressEnter();
+
+        hbAramaSonuclariGoruntulenir();
     }
 
+    // Spec'te "Ürün aranır" concept'inden sonra çalışır; Java akışlarında hbUrunAra çağırır
     @Step("Arama sonuçları görüntülenir")
     public void hbAramaSonuclariGoruntulenir() {
         ensureInit();
+        Readiness.untilInteractable(driver(), locatorHelper, "lst_ProductCards", Duration.ofSeconds(15));
+        capturePerf("SearchResults");
     }
 
     @Step("Fare arama alanına götürülür ve tıklanır")
     public void fareAramaAlaninaGoturulurVeTiklanir() {
         ensureInit();
 
-        WebElement el = wait.until(
+        WebElement el = defaultWait().until(
                 ExpectedConditions.visibilityOfElementLocated(locatorHelper.getBy("txt_Search"))
         );
 
-        actions.moveToElement(el)
+        actions().moveToElement(el)
                 .pause(Duration.ofMillis(300))
                 .click()
                 .perform();
@@ -460,26 +411,19 @@ public class StepImplementation {
     public void clickNormal(String elementKey) {
         ensureInit();
 
-        By by = locatorHelper.getBy(elementKey);
-        WebElement el = wait.until(ExpectedConditions.presenceOfElementLocated(by));
-
-        ((JavascriptExecutor) driver).executeScript(
-                "arguments[0].scrollIntoView({block:'center', inline:'center'});", el);
-
-        try {
-            el.click();
-        } catch (Exception ex) {
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", el);
+        ElementProbe.State st = ElementProbe.await(driver(), locatorHelper, elementKey,
+                ElementProbe.Condition.PRESENT, Duration.ofSeconds(15));
+        if (!st.present) {
+            throw new TimeoutException("Element bulunamadı: " + elementKey);
         }
+        clickProbed(st);
     }
 
-    private static boolean loginHoverVerifiedOnce = false;
-
     @Step("Element <elementKey> üzerinde 3 saniye durulur ve login doğrulanır")
     public void hoverElementAndVerifyLogin(String elementKey) {
         ensureInit();
 
-        if (loginHoverVerifiedOnce) return;
+        if (session().loginHoverVerifiedOnce) return;
 
         String accountName = getValue("AccountName").trim();
 
@@ -490,13 +434,12 @@ public class StepImplementation {
                         + "'" + escapeXPath(accountName) + "')]"
         );
 
-        WebElement nameEl = wait.until(ExpectedConditions.visibilityOfElementLocated(accountNameBy));
+        WebElement nameEl = defaultWait().until(ExpectedConditions.visibilityOfElementLocated(accountNameBy));
 
-        actions.moveToElement(nameEl)
-                .pause(Duration.ofSeconds(3))
-                .perform();
+        actions().moveToElement(nameEl).perform();
+        QuietWait.await(driver(), getValue("HoverDwellWait"));
 
-        loginHoverVerifiedOnce = true;
+        session().loginHoverVerifiedOnce = true;
     }
 
     private String escapeXPath(String text) {
@@ -516,15 +459,15 @@ public class StepImplementation {
     public void verifyLoginSuccessAndHoverAccount_afterLogin() {
         ensureInit();
 
-        if (loginHoverVerifiedOnce) return;
+        if (session().loginHoverVerifiedOnce) return;
 
         String accountName = getValue("AccountName").trim();
 
-        WebElement account = wait.until(
+        WebElement account = defaultWait().until(
                 ExpectedConditions.visibilityOfElementLocated(locatorHelper.getBy("btn_GirisYapHeader"))
         );
 
-        actions.moveToElement(account)
+        actions().moveToElement(account)
                 .pause(Duration.ofSeconds(1))
                 .perform();
 
@@ -533,13 +476,12 @@ public class StepImplementation {
                         + "'" + escapeXPath(accountName) + "')]"
         );
 
-        WebElement nameEl = wait.until(ExpectedConditions.visibilityOfElementLocated(nameBy));
+        WebElement nameEl = defaultWait().until(ExpectedConditions.visibilityOfElementLocated(nameBy));
 
-        actions.moveToElement(nameEl)
-                .pause(Duration.ofSeconds(3))
-                .perform();
+        actions().moveToElement(nameEl).perform();
+        QuietWait.await(driver(), getValue("HoverDwellWait"));
 
-        loginHoverVerifiedOnce = true;
+        session().loginHoverVerifiedOnce = true;
     }
 
     @Step("<valueKey> saniye beklenir")
@@ -547,13 +489,6 @@ public class StepImplementation {
         ensureInit();
 
         String val = getValue(valueKey);
-        int seconds = Integer.parseInt(val.trim());
-
-        try {
-            Thread.sleep(seconds * 1000L);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(ie);
-        }
+        QuietWait.await(driver(), val);
     }
 }
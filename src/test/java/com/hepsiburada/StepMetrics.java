@@ -0,0 +1,230 @@
+package com.hepsiburada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adım süreleri ve adım içinde çalışan WebDriver komutlarının sayım/süre istatistikleri.
+ * Her thread kendi çalışan adımını tutar; bitince sonuçlar global tabloya eklenir.
+ * Süre dört kalemde izlenir: komut (chromedriver round trip), sleep (Thread.sleep), bekleme
+ * (MeasuredWait.until, QuietWait, Readiness ve ElementProbe aralıkları; içlerindeki komut ve sleep'ler dahil)
+ * ve diğer (kalan Java tarafı süre).
+ */
+public final class StepMetrics {
+
+    static final boolean ENABLED = EnvConfig.getBoolean("step_metrics", true);
+    private static final String METRICS_DIR = EnvConfig.get("metrics_dir", "metrics");
+
+    private static final ThreadLocal<StepRecord> current = new ThreadLocal<>();
+    private static final Map<String, StepStats> stats = new ConcurrentHashMap<>();
+
+    private StepMetrics() {
+    }
+
+    /** Tek bir adım çalışmasının ölçümleri. */
+    static class StepRecord {
+        final String step;
+        final long startNanos = System.nanoTime();
+        final Map<String, long[]> commands = new TreeMap<>();
+        final Map<String, Integer> retries = new TreeMap<>();
+        long commandNanos;
+        long sleepNanos;
+        long waitNanos;
+        long waitStartNanos;
+        int waitDepth;
+
+        StepRecord(String step) {
+            this.step = step;
+        }
+    }
+
+    /** Bir adımın tüm çalışmalarının birikmiş istatistikleri. */
+    static class StepStats {
+        final List<Long> durations = new ArrayList<>();
+        final Map<String, long[]> commands = new TreeMap<>();
+        final Map<String, Integer> retries = new TreeMap<>();
+        long commandNanos;
+        long sleepNanos;
+        long waitNanos;
+        long otherNanos;
+    }
+
+    public static void stepStarted(String step) {
+        if (!ENABLED) return;
+        current.set(new StepRecord(step));
+    }
+
+    /** @return adımın özet satırı, rapora mesaj olarak yazılır; ölçüm kapalıysa null */
+    public static String stepFinished() {
+        StepRecord r = current.get();
+        if (r == null) return null;
+        current.remove();
+
+        long total = System.nanoTime() - r.startNanos;
+        // Adım bekleme içinde düştüyse açık aralık da sayılır
+        long wait = r.waitNanos + (r.waitDepth > 0 ? System.nanoTime() - r.waitStartNanos : 0);
+        long other = Math.max(0, total - r.commandNanos - r.sleepNanos - wait);
+
+        StepStats s = stats.computeIfAbsent(r.step, k -> new StepStats());
+        synchronized (s) {
+            s.durations.add(total);
+            s.commandNanos += r.commandNanos;
+            s.sleepNanos += r.sleepNanos;
+            s.waitNanos += wait;
+            s.otherNanos += other;
+            for (Map.Entry<String, long[]> e : r.commands.entrySet()) {
+                long[] acc = s.commands.computeIfAbsent(e.getKey(), k -> new long[2]);
+                acc[0] += e.getValue()[0];
+                acc[1] += e.getValue()[1];
+            }
+            for (Map.Entry<String, Integer> e : r.retries.entrySet()) {
+                s.retries.merge(e.getKey(), e.getValue(), Integer::sum);
+            }
+        }
+
+        int commandCount = 0;
+        for (long[] c : r.commands.values()) commandCount += (int) c[0];
+
+        String summary = String.format("Süre: %d ms | komut: %d (%d ms) | sleep: %d ms | bekleme: %d ms | diğer: %d ms",
+                ms(total), commandCount, ms(r.commandNanos), ms(r.sleepNanos), ms(wait), ms(other));
+        return r.retries.isEmpty() ? summary : summary + " | retry: " + r.retries;
+    }
+
+    /**
+     * WebDriver komutu bittiğinde CommandListener tarafından çağrılır.
+     *
+     * @param outermost iç içe komutlarda yalnızca en dıştaki adımın komut süresine eklenir
+     */
+    static void commandExecuted(String command, long nanos, boolean outermost) {
+        StepRecord r = current.get();
+        if (r == null) return;
+
+        long[] c = r.commands.computeIfAbsent(command, k -> new long[2]);
+        c[0]++;
+        c[1] += nanos;
+        // Bekleme aralıkları içindeki komutlar zaten bekleme süresindedir
+        if (r.waitDepth == 0 && outermost) r.commandNanos += nanos;
+    }
+
+    /** Retry motoru bir denemeyi tekrarladığında çağrılır; key "işlem: hata tipi" biçimindedir. */
+    static void retried(String operation, String exceptionType) {
+        StepRecord r = current.get();
+        if (r == null) return;
+        r.retries.merge(operation + ": " + exceptionType, 1, Integer::sum);
+    }
+
+    /** Thread.sleep yerine kullanılır; uyunan süre adımın sleep kalemine yazılır. */
+    public static void sleep(long millis) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            StepRecord r = current.get();
+            if (r != null && r.waitDepth == 0) r.sleepNanos += System.nanoTime() - start;
+        }
+    }
+
+    /** Bekleme aralığı başlar; iç içe aralıklarda yalnızca en dıştaki ölçülür. */
+    static void waitStarted() {
+        StepRecord r = current.get();
+        if (r != null && r.waitDepth++ == 0) r.waitStartNanos = System.nanoTime();
+    }
+
+    static void waitFinished() {
+        StepRecord r = current.get();
+        if (r != null && r.waitDepth > 0 && --r.waitDepth == 0) r.waitNanos += System.nanoTime() - r.waitStartNanos;
+    }
+
+    /** Birikmiş istatistikleri metrics_dir/step-metrics.json dosyasına yazar. */
+    public static File writeReport() {
+        if (!ENABLED || stats.isEmpty()) return null;
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        for (Map.Entry<String, StepStats> e : new TreeMap<>(stats).entrySet()) {
+            StepStats s = e.getValue();
+            synchronized (s) {
+                List<Long> sorted = new ArrayList<>(s.durations);
+                Collections.sort(sorted);
+
+                long total = 0;
+                for (long d : sorted) total += d;
+
+                Map<String, Object> commands = new LinkedHashMap<>();
+                for (Map.Entry<String, long[]> c : s.commands.entrySet()) {
+                    Map<String, Object> cm = new LinkedHashMap<>();
+                    cm.put("count", c.getValue()[0]);
+                    cm.put("totalMs", ms(c.getValue()[1]));
+                    commands.put(c.getKey(), cm);
+                }
+
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("step", e.getKey());
+                m.put("count", sorted.size());
+                m.put("p50Ms", ms(percentile(sorted, 50)));
+                m.put("p95Ms", ms(percentile(sorted, 95)));
+                m.put("maxMs", ms(sorted.get(sorted.size() - 1)));
+                m.put("totalMs", ms(total));
+                m.put("commandMs", ms(s.commandNanos));
+                m.put("sleepMs", ms(s.sleepNanos));
+                m.put("waitMs", ms(s.waitNanos));
+                m.put("otherMs", ms(s.otherNanos));
+                m.put("retries", new TreeMap<>(s.retries));
+                m.put("commands", commands);
+                steps.add(m);
+            }
+        }
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("generatedAt", System.currentTimeMillis());
+        root.put("steps", steps);
+
+        File file = new File(METRICS_DIR, "step-metrics.json");
+        try {
+            file.getParentFile().mkdirs();
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, root);
+        } catch (Exception e) {
+            throw new RuntimeException("step-metrics.json yazılamadı: " + file, e);
+        }
+        return file;
+    }
+
+    /** Toplam süreye göre en yavaş adımlar, suite sonunda rapora yazılır. */
+    public static List<String> summaryLines(int limit) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (Map.Entry<String, StepStats> e : stats.entrySet()) {
+            synchronized (e.getValue()) {
+                long t = 0;
+                for (long d : e.getValue().durations) t += d;
+                totals.put(e.getKey(), new long[]{t, e.getValue().durations.size()});
+            }
+        }
+
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(totals.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            lines.add(String.format("%s → toplam %d ms, %d çalışma",
+                    e.getKey(), ms(e.getValue()[0]), e.getValue()[1]));
+        }
+        return lines;
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        int idx = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(idx, sorted.size() - 1)));
+    }
+
+    private static long ms(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,147 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Yeni sekmede açılan linkler için sekme yönetimi. Her DriverSession'ın kendi örneği vardır.
+ * <ul>
+ *     <li>close_opener (varsayılan): yeni sekmeye geçildikten sonra açan sekme kapatılır</li>
+ *     <li>same_tab: linkin target'ı kaldırılır, sayfa aynı sekmede açılır</li>
+ *     <li>keep: sekmeler açık kalır, tab_max_open aşılınca en eskisi kapatılır</li>
+ * </ul>
+ * Sayfaya tıklamadan önce window.open sarmalayıcısı eklenir; yeni sekme yalnızca link target="_blank" ise ya da
+ * click handler window.open çağırdıysa tab_open_timeout_millis kadar beklenir, aksi halde hiç beklenmez.
+ * same_tab'da window.open da aynı sekmede açılır, bu yüzden yeni sekme beklenmez.
+ */
+public class TabManager {
+
+    private static final String POLICY = EnvConfig.get("tab_policy", "close_opener").toLowerCase(Locale.ROOT);
+    private static final int MAX_OPEN = Math.max(1, EnvConfig.getInt("tab_max_open", 3));
+    private static final long OPEN_TIMEOUT_MILLIS = EnvConfig.getInt("tab_open_timeout_millis", 5000);
+
+    // Sarmalayıcı belge başına bir kez kurulur; sayfanın açtığı her pencere __hbTabOpens'ı artırır
+    private static final String PREPARE_SCRIPT =
+            "const a = arguments[0];" +
+            "if (!window.__hbTabHook) {" +
+            "  window.__hbTabHook = true; window.__hbTabOpens = 0;" +
+            "  const open = window.open;" +
+            "  window.open = function (url, name) {" +
+            "    if (window.__hbSameTab && (!name || name === '_blank')) { if (url) location.assign(url); return window; }" +
+            "    window.__hbTabOpens++;" +
+            "    return open.apply(window, arguments);" +
+            "  };" +
+            "}" +
+            "window.__hbSameTab = arguments[1];" +
+            "a.scrollIntoView({block: 'center'});" +
+            "if (arguments[1]) a.removeAttribute('target');" +
+            "return [(a.getAttribute('target') || '').toLowerCase(), window.__hbTabOpens];";
+
+    // Tıklama sayfayı değiştirdiyse yeni belgede sayaç yoktur (0)
+    private static final String OPENS_SCRIPT = "return window.__hbTabOpens || 0;";
+
+    private final WebDriver driver;
+    // Açılış sırasına göre, en eski başta
+    private final Deque<String> opened = new ArrayDeque<>();
+
+    TabManager(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Linki görünür alana getirip click ile tıklar. Yeni sekme açılırsa ona geçer ve politikayı uygular.
+     *
+     * @return yeni sekmeye geçildiyse true
+     */
+    public boolean clickLink(WebElement link, Consumer<WebElement> click) {
+        boolean sameTab = "same_tab".equals(POLICY);
+
+        Set<String> before = driver.getWindowHandles();
+        String opener = driver.getWindowHandle();
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        List<?> prepared = (List<?>) js.executeScript(PREPARE_SCRIPT, link, sameTab);
+        String target = (String) prepared.get(0);
+        long opensBefore = ((Number) prepared.get(1)).longValue();
+
+        click.accept(link);
+
+        if (!"_blank".equals(target) && !openedByScript(js, opensBefore)) return false;
+
+        String newHandle = waitForNewHandle(before, OPEN_TIMEOUT_MILLIS);
+        if (newHandle == null) return false;
+
+        driver.switchTo().window(newHandle);
+        if (!DriverFactory.headless()) driver.manage().window().maximize();
+        DriverFactory.applyNetworkBlocking(driver);
+
+        if (!opened.contains(opener)) opened.addLast(opener);
+        opened.addLast(newHandle);
+
+        if ("close_opener".equals(POLICY)) {
+            close(opener, newHandle);
+        }
+        while (opened.size() > MAX_OPEN) {
+            close(opened.peekFirst(), newHandle);
+        }
+        return true;
+    }
+
+    /** Session sıfırlanırken çağrılır. */
+    void clear() {
+        opened.clear();
+    }
+
+    private void close(String handle, String current) {
+        opened.remove(handle);
+        if (handle.equals(current)) return;
+        driver.switchTo().window(handle);
+        driver.close();
+        driver.switchTo().window(current);
+    }
+
+    private static boolean openedByScript(JavascriptExecutor js, long opensBefore) {
+        try {
+            return ((Number) js.executeScript(OPENS_SCRIPT)).longValue() > opensBefore;
+        } catch (WebDriverException e) {
+            // Tıklama navigation başlattı; script yeni sayfaya yetişemedi, sekme açılmadı
+            return false;
+        }
+    }
+
+    // Açıldığı bilinen sekmenin handle'ı görünene kadar
+    private String waitForNewHandle(Set<String> before, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        StepMetrics.waitStarted();
+        try {
+            while (true) {
+                String h = findNewHandle(before);
+                if (h != null || System.currentTimeMillis() >= deadline) return h;
+                try {
+                    StepMetrics.sleep(50);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(ie);
+                }
+            }
+        } finally {
+            StepMetrics.waitFinished();
+        }
+    }
+
+    private String findNewHandle(Set<String> before) {
+        Set<String> diff = new HashSet<>(driver.getWindowHandles());
+        diff.removeAll(before);
+        return diff.isEmpty() ? null : diff.iterator().next();
+    }
+}
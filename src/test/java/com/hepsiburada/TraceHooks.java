@@ -0,0 +1,99 @@
+package com.hepsiburada;
+
+import com.thoughtworks.gauge.AfterStep;
+import com.thoughtworks.gauge.BeforeScenario;
+import com.thoughtworks.gauge.BeforeStep;
+import com.thoughtworks.gauge.ExecutionContext;
+import com.thoughtworks.gauge.Gauge;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * İsteğe bağlı adım trace'i. trace_tags içindeki bir tag'e sahip senaryolarda tüm adımlar,
+ * trace_steps içindeki bir metni içeren adımlar ise her senaryoda DevToolsTrace ile kaydedilir.
+ * Dosyalar <gauge_reports_dir>/traces/<senaryo>/ altına yazılır ve yolları adım raporuna eklenir.
+ * İki ayar da boşsa hook'lar ilk satırda döner.
+ */
+public class TraceHooks {
+
+    private static final List<String> TAGS = split(EnvConfig.get("trace_tags", ""));
+    private static final List<String> STEPS = split(EnvConfig.get("trace_steps", ""));
+    private static final boolean ENABLED = !TAGS.isEmpty() || !STEPS.isEmpty();
+    private static final String TRACE_DIR = EnvConfig.get("gauge_reports_dir", "reports") + "/traces";
+
+    private static final ThreadLocal<DevToolsTrace> active = new ThreadLocal<>();
+    private static final ThreadLocal<Path> scenarioDir = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> stepIndex = new ThreadLocal<>();
+
+    @BeforeScenario
+    public void startScenario(ExecutionContext context) {
+        if (!ENABLED) return;
+        scenarioDir.set(Paths.get(TRACE_DIR, fileName(context.getCurrentScenario().getName())
+                + "-" + System.currentTimeMillis()));
+        stepIndex.set(0);
+    }
+
+    @BeforeStep
+    public void startTrace(ExecutionContext context) {
+        if (!ENABLED) return;
+        stepIndex.set(stepIndex.get() == null ? 1 : stepIndex.get() + 1);
+        if (!selected(context)) return;
+
+        DriverSession session = DriverPool.peek();
+        if (session == null) return;
+
+        try {
+            active.set(DevToolsTrace.start(session.driver));
+        } catch (Exception e) {
+            // Trace alınamaması adımı etkilememeli
+            Gauge.writeMessage("DevTools trace başlatılamadı: " + e.getMessage());
+        }
+    }
+
+    @AfterStep
+    public void stopTrace(ExecutionContext context) {
+        if (!ENABLED) return;
+        DevToolsTrace trace = active.get();
+        if (trace == null) return;
+        active.remove();
+
+        String step = context.getCurrentStep().getText();
+        String name = String.format("%03d-%s", stepIndex.get(), fileName(step));
+        if (name.length() > 80) name = name.substring(0, 80);
+
+        try {
+            List<Path> files = trace.stop(scenarioDir.get(), name);
+            Gauge.writeMessage("DevTools trace: " + files.get(0).toAbsolutePath());
+            Gauge.writeMessage("Network logu: " + files.get(1).toAbsolutePath());
+        } catch (Exception e) {
+            Gauge.writeMessage("DevTools trace yazılamadı: " + e.getMessage());
+        }
+    }
+
+    private static boolean selected(ExecutionContext context) {
+        for (String tag : context.getAllTags()) {
+            if (TAGS.contains(tag.toLowerCase(Locale.ROOT))) return true;
+        }
+        String step = context.getCurrentStep().getText().toLowerCase(Locale.ROOT);
+        for (String s : STEPS) {
+            if (step.contains(s)) return true;
+        }
+        return false;
+    }
+
+    private static List<String> split(String csv) {
+        List<String> out = new ArrayList<>();
+        for (String s : csv.split(",")) {
+            if (!s.trim().isEmpty()) out.add(s.trim().toLowerCase(Locale.ROOT));
+        }
+        return out;
+    }
+
+    private static String fileName(String s) {
+        return s.replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+    }
+}
@@ -0,0 +1,79 @@
+package com.hepsiburada;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * typeLikeHuman adımının yazma biçimleri.
+ * <ul>
+ *     <li>human: karakter karakter, 80–260 ms arası tekrarlanabilir (seed'li) gecikme</li>
+ *     <li>burst: typing_burst_chunk uzunluğunda parçalar halinde</li>
+ *     <li>instant: tek sendKeys çağrısı</li>
+ *     <li>js: value JS ile atanır, input/change event'leri tetiklenir</li>
+ * </ul>
+ */
+public enum TypingProfile {
+
+    HUMAN {
+        @Override
+        void type(WebDriver driver, WebElement el, String text, Random random) throws InterruptedException {
+            for (char c : text.toCharArray()) {
+                el.sendKeys(String.valueOf(c));
+                StepMetrics.sleep(80 + random.nextInt(180));
+            }
+        }
+    },
+
+    BURST {
+        @Override
+        void type(WebDriver driver, WebElement el, String text, Random random) throws InterruptedException {
+            for (int i = 0; i < text.length(); i += BURST_CHUNK) {
+                el.sendKeys(text.substring(i, Math.min(text.length(), i + BURST_CHUNK)));
+                if (i + BURST_CHUNK < text.length()) StepMetrics.sleep(20 + random.nextInt(40));
+            }
+        }
+    },
+
+    INSTANT {
+        @Override
+        void type(WebDriver driver, WebElement el, String text, Random random) {
+            el.sendKeys(text);
+        }
+    },
+
+    JS {
+        @Override
+        void type(WebDriver driver, WebElement el, String text, Random random) {
+            ((JavascriptExecutor) driver).executeScript(
+                    "const el = arguments[0];" +
+                    "const proto = el instanceof HTMLTextAreaElement" +
+                    "    ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+                    "Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, arguments[1]);" +
+                    "el.dispatchEvent(new Event('input', {bubbles: true}));" +
+                    "el.dispatchEvent(new Event('change', {bubbles: true}));",
+                    el, text);
+        }
+    };
+
+    private static final int BURST_CHUNK = Math.max(1, EnvConfig.getInt("typing_burst_chunk", 4));
+    private static final long SEED = EnvConfig.getInt("typing_seed", 42);
+
+    abstract void type(WebDriver driver, WebElement el, String text, Random random) throws InterruptedException;
+
+    /** Aynı alan için her koşumda aynı gecikme dizisini üretir. */
+    static Random randomFor(String elementKey) {
+        return new Random(SEED * 31 + elementKey.hashCode());
+    }
+
+    public static TypingProfile of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Desteklenmeyen typing profile: " + name);
+        }
+    }
+}